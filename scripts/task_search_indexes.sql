@@ -0,0 +1,5 @@
+-- Optional index for TaskDao FULLTEXT search mode: word search with
+-- MATCH ... AGAINST (InnoDB needs MySQL 5.6+ or MariaDB 10.0.5+). The
+-- index on name used by LIKE prefix search is created by the migrations
+-- (src/main/resources/db/migration).
+ALTER TABLE `task` ADD FULLTEXT INDEX `task_name_fulltext` (`name`);
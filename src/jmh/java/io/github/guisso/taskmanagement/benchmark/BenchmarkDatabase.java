@@ -0,0 +1,129 @@
+/*
+ * CC BY-NC-SA 4.0
+ *
+ * Copyright 2022 Luis Guisso &lt;luis dot guisso at ifnmg dot edu dot br&gt;.
+ *
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ *
+ * You are free to:
+ *   Share - copy and redistribute the material in any medium or format
+ *   Adapt - remix, transform, and build upon the material
+ *
+ * Under the following terms:
+ *   Attribution - You must give appropriate credit, provide 
+ *   a link to the license, and indicate if changes were made.
+ *   You may do so in any reasonable manner, but not in any 
+ *   way that suggests the licensor endorses you or your use.
+ *   NonCommercial - You may not use the material for commercial purposes.
+ *   ShareAlike - If you remix, transform, or build upon the 
+ *   material, you must distribute your contributions under 
+ *   the same license as the original.
+ *   No additional restrictions - You may not apply legal 
+ *   terms or technological measures that legally restrict 
+ *   others from doing anything the license permits.
+ *
+ * Notices:
+ *   You do not have to comply with the license for elements 
+ *   of the material in the public domain or where your use 
+ *   is permitted by an applicable exception or limitation.
+ *   No warranties are given. The license may not give you 
+ *   all of the permissions necessary for your intended use. 
+ *   For example, other rights such as publicity, privacy, 
+ *   or moral rights may limit how you use the material.
+ */
+package io.github.guisso.taskmanagement.benchmark;
+
+import io.github.guisso.taskmanagement.migration.SchemaMigrator;
+import io.github.guisso.taskmanagement.repository.DbConnection;
+import io.github.guisso.taskmanagement.task.SpecialTask;
+import io.github.guisso.taskmanagement.task.Task;
+import io.github.guisso.taskmanagement.task.TaskDao;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class BenchmarkDatabase
+ *
+ * In-memory H2 database, in MySQL compatibility mode, shared by the
+ * benchmarks so they run offline and without a MySQL server. Each benchmark
+ * trial points {@link DbConnection} to a fresh database and seeds it.
+ *
+ * @version 0.1, 2026-10-17
+ */
+final class BenchmarkDatabase {
+
+    static final String PASSWORD
+            = "5e884898da28047151d0e56f8dc6292773603d0d6aabbdd62a11ef721d1542d8";
+
+    /**
+     * Points the DAOs to a new, empty in-memory database with the schema
+     * and indexes of the migrations
+     *
+     * @param name Database name, unique per benchmark class
+     * @throws SQLException If the schema cannot be created
+     */
+    static void open(String name) throws SQLException {
+        DbConnection.setUrl("jdbc:h2:mem:" + name
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        DbConnection.setUser("sa");
+        DbConnection.setPassword("");
+
+        try (Connection connection = DbConnection.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        }
+        SchemaMigrator.migrate();
+    }
+
+    /**
+     * Drops the database and closes the connection pool
+     */
+    static void close() {
+        try (Connection connection = DbConnection.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+        } catch (SQLException ex) {
+            System.out.println("Exception: " + ex);
+        }
+        DbConnection.shutdown();
+    }
+
+    /**
+     * Inserts tasks with batched statements
+     *
+     * @param rows Number of tasks
+     * @return IDs of the new tasks
+     */
+    static List<Long> seed(int rows) {
+        List<Task> tasks = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            tasks.add(newTask(i));
+        }
+        return new TaskDao().saveAll(tasks);
+    }
+
+    static Task newTask(int i) {
+        return new Task(null, "Task " + i, "task" + i + "@mail.com",
+                PASSWORD, LocalDate.of(2024, 9, 1).plusDays(i % 365), i % 2 == 0);
+    }
+
+    static SpecialTask newSpecialTask(int i) {
+        SpecialTask specialTask = new SpecialTask();
+        specialTask.setName("Special task " + i);
+        specialTask.setEmail("special" + i + "@mail.com");
+        specialTask.setPassword(PASSWORD);
+        specialTask.setLastAccess(LocalDate.of(2024, 9, 1));
+        specialTask.setActive(true);
+        specialTask.setSpecial(i % 2 == 0);
+        return specialTask;
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Private constructor">
+    private BenchmarkDatabase() {
+    }
+    //</editor-fold>
+}
@@ -0,0 +1,113 @@
+/*
+ * CC BY-NC-SA 4.0
+ *
+ * Copyright 2022 Luis Guisso &lt;luis dot guisso at ifnmg dot edu dot br&gt;.
+ *
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ *
+ * You are free to:
+ *   Share - copy and redistribute the material in any medium or format
+ *   Adapt - remix, transform, and build upon the material
+ *
+ * Under the following terms:
+ *   Attribution - You must give appropriate credit, provide 
+ *   a link to the license, and indicate if changes were made.
+ *   You may do so in any reasonable manner, but not in any 
+ *   way that suggests the licensor endorses you or your use.
+ *   NonCommercial - You may not use the material for commercial purposes.
+ *   ShareAlike - If you remix, transform, or build upon the 
+ *   material, you must distribute your contributions under 
+ *   the same license as the original.
+ *   No additional restrictions - You may not apply legal 
+ *   terms or technological measures that legally restrict 
+ *   others from doing anything the license permits.
+ *
+ * Notices:
+ *   You do not have to comply with the license for elements 
+ *   of the material in the public domain or where your use 
+ *   is permitted by an applicable exception or limitation.
+ *   No warranties are given. The license may not give you 
+ *   all of the permissions necessary for your intended use. 
+ *   For example, other rights such as publicity, privacy, 
+ *   or moral rights may limit how you use the material.
+ */
+package io.github.guisso.taskmanagement.benchmark;
+
+import io.github.guisso.taskmanagement.repository.RowMapper;
+import io.github.guisso.taskmanagement.task.Task;
+import io.github.guisso.taskmanagement.task.TaskDao;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Class ExtractObjectBenchmark
+ *
+ * Row mapping in {@link TaskDao#extractObject(java.sql.ResultSet)} isolated
+ * from I/O: the row comes from an embedded H2 result set, already held in
+ * memory and kept on the same row, so only column lookup, conversion and
+ * entity creation are measured. {@code extractObject} resolves the column
+ * indexes on every call; {@code rowMapper} reuses the mapper created once
+ * per ResultSet, as the DAO queries do.
+ *
+ * @version 0.1, 2026-10-17
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExtractObjectBenchmark {
+
+    private TaskDao dao;
+    private Connection connection;
+    private ResultSet resultSet;
+    private RowMapper<Task> mapper;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        dao = new TaskDao();
+
+        connection = DriverManager.getConnection("jdbc:h2:mem:extractobject;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        Statement statement = connection.createStatement();
+        resultSet = statement.executeQuery("SELECT CAST(1 AS BIGINT) AS id,"
+                + " 'Ana Zaira' AS name,"
+                + " 'a.zaira@mail.com' AS email,"
+                + " '" + BenchmarkDatabase.PASSWORD + "' AS password,"
+                + " DATE '2024-09-08' AS last_access,"
+                + " CAST(1 AS TINYINT) AS active");
+        resultSet.next();
+        mapper = dao.createRowMapper(resultSet);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public Task extractObject() {
+        return dao.extractObject(resultSet);
+    }
+
+    @Benchmark
+    public Task rowMapper() throws SQLException {
+        return mapper.map(resultSet);
+    }
+}
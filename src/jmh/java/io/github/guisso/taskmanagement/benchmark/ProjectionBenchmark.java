@@ -0,0 +1,113 @@
+/*
+ * CC BY-NC-SA 4.0
+ *
+ * Copyright 2022 Luis Guisso &lt;luis dot guisso at ifnmg dot edu dot br&gt;.
+ *
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ *
+ * You are free to:
+ *   Share - copy and redistribute the material in any medium or format
+ *   Adapt - remix, transform, and build upon the material
+ *
+ * Under the following terms:
+ *   Attribution - You must give appropriate credit, provide 
+ *   a link to the license, and indicate if changes were made.
+ *   You may do so in any reasonable manner, but not in any 
+ *   way that suggests the licensor endorses you or your use.
+ *   NonCommercial - You may not use the material for commercial purposes.
+ *   ShareAlike - If you remix, transform, or build upon the 
+ *   material, you must distribute your contributions under 
+ *   the same license as the original.
+ *   No additional restrictions - You may not apply legal 
+ *   terms or technological measures that legally restrict 
+ *   others from doing anything the license permits.
+ *
+ * Notices:
+ *   You do not have to comply with the license for elements 
+ *   of the material in the public domain or where your use 
+ *   is permitted by an applicable exception or limitation.
+ *   No warranties are given. The license may not give you 
+ *   all of the permissions necessary for your intended use. 
+ *   For example, other rights such as publicity, privacy, 
+ *   or moral rights may limit how you use the material.
+ */
+package io.github.guisso.taskmanagement.benchmark;
+
+import io.github.guisso.taskmanagement.repository.Page;
+import io.github.guisso.taskmanagement.repository.Projection;
+import io.github.guisso.taskmanagement.task.Task;
+import io.github.guisso.taskmanagement.task.TaskDao;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Class ProjectionBenchmark
+ *
+ * List queries of {@link TaskDao} reading full entities against reading
+ * only the {@code id} and {@code name} columns, as a list screen would.
+ *
+ * @version 0.1, 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectionBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private static final Projection<Projection.Row> ID_AND_NAME = Projection.of("id", "name");
+
+    @Param({"1000", "10000"})
+    private int rows;
+
+    private TaskDao dao;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.open("projection");
+        dao = new TaskDao();
+        BenchmarkDatabase.seed(rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkDatabase.close();
+    }
+
+    @Benchmark
+    public List<Task> findAllEntities() {
+        return dao.findAll();
+    }
+
+    @Benchmark
+    public List<Projection.Row> findAllProjected() {
+        return dao.findAll(ID_AND_NAME);
+    }
+
+    @Benchmark
+    public Page<Task> findPageEntities() {
+        return dao.findPage(null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Page<Projection.Row> findPageProjected() {
+        return dao.findPage(ID_AND_NAME, null, PAGE_SIZE);
+    }
+}
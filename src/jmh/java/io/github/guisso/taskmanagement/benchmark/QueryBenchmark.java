@@ -0,0 +1,123 @@
+/*
+ * CC BY-NC-SA 4.0
+ *
+ * Copyright 2022 Luis Guisso &lt;luis dot guisso at ifnmg dot edu dot br&gt;.
+ *
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ *
+ * You are free to:
+ *   Share - copy and redistribute the material in any medium or format
+ *   Adapt - remix, transform, and build upon the material
+ *
+ * Under the following terms:
+ *   Attribution - You must give appropriate credit, provide 
+ *   a link to the license, and indicate if changes were made.
+ *   You may do so in any reasonable manner, but not in any 
+ *   way that suggests the licensor endorses you or your use.
+ *   NonCommercial - You may not use the material for commercial purposes.
+ *   ShareAlike - If you remix, transform, or build upon the 
+ *   material, you must distribute your contributions under 
+ *   the same license as the original.
+ *   No additional restrictions - You may not apply legal 
+ *   terms or technological measures that legally restrict 
+ *   others from doing anything the license permits.
+ *
+ * Notices:
+ *   You do not have to comply with the license for elements 
+ *   of the material in the public domain or where your use 
+ *   is permitted by an applicable exception or limitation.
+ *   No warranties are given. The license may not give you 
+ *   all of the permissions necessary for your intended use. 
+ *   For example, other rights such as publicity, privacy, 
+ *   or moral rights may limit how you use the material.
+ */
+package io.github.guisso.taskmanagement.benchmark;
+
+import io.github.guisso.taskmanagement.repository.DbConnection;
+import io.github.guisso.taskmanagement.task.Task;
+import io.github.guisso.taskmanagement.task.TaskDao;
+import io.github.guisso.taskmanagement.task.TaskMapping;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Class QueryBenchmark
+ *
+ * The same filtered query run as hand-written JDBC and built with
+ * {@link TaskDao#query()}, to show that a built query costs no more than
+ * hand-written SQL once its shape is cached.
+ *
+ * @version 0.1, 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryBenchmark {
+
+    private static final int LIMIT = 20;
+
+    private static final String HAND_WRITTEN_SQL = TaskMapping.FIND_ALL_NOT_ON_TRASH_SQL
+            + " AND active = ? AND name LIKE ? ORDER BY id ASC LIMIT ?";
+
+    @Param({"1000", "10000"})
+    private int rows;
+
+    private TaskDao dao;
+    private int sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.open("query");
+        dao = new TaskDao();
+        BenchmarkDatabase.seed(rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkDatabase.close();
+    }
+
+    @Benchmark
+    public List<Task> handWritten() throws SQLException {
+        try (Connection connection = DbConnection.getReadConnection();
+                PreparedStatement preparedStatement = connection.prepareStatement(HAND_WRITTEN_SQL)) {
+            preparedStatement.setBoolean(1, true);
+            preparedStatement.setString(2, "Task " + (sequence++ % rows) + "%");
+            preparedStatement.setInt(3, LIMIT);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return dao.extractObjects(resultSet);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Task> built() {
+        return dao.query()
+                .where(TaskMapping.ACTIVE.eq(true))
+                .where(TaskMapping.NAME.like("Task " + (sequence++ % rows) + "%"))
+                .orderBy(TaskMapping.ID.asc())
+                .limit(LIMIT)
+                .list();
+    }
+}
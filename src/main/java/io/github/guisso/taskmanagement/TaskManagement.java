@@ -33,6 +33,7 @@
  */
 package io.github.guisso.taskmanagement;
 
+import io.github.guisso.taskmanagement.migration.SchemaMigrator;
 import io.github.guisso.taskmanagement.task.Task;
 import io.github.guisso.taskmanagement.task.TaskDao;
 import java.time.LocalDate;
@@ -46,6 +47,9 @@ public class TaskManagement {
     
     public static void main(String[] args) {
 
+        // Cria ou atualiza as tabelas e confere os índices
+        SchemaMigrator.migrate();
+
         // Criação de uma nova tarefa (Task)
         Task novaTarefa = new Task(
             null, // ID será gerado automaticamente
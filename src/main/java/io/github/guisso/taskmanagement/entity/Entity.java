@@ -45,6 +45,10 @@ public abstract class Entity {
     private Long id;
     private boolean excluded;
 
+    // Column values as last loaded or saved by its DAO, compared by dirty
+    // checking; null when unknown
+    private Object[] loadedState;
+
     //<editor-fold defaultstate="collapsed" desc="Getters/Setters">
     public Long getId() {
         return id;
@@ -61,6 +65,14 @@ public abstract class Entity {
     public void setExcluded(boolean excluded) {
         this.excluded = excluded;
     }
+
+    public Object[] getLoadedState() {
+        return loadedState;
+    }
+
+    public void setLoadedState(Object[] loadedState) {
+        this.loadedState = loadedState;
+    }
     //</editor-fold>
 
 }
\ No newline at end of file
@@ -7,8 +7,11 @@ package io.github.guisso.taskmanagement.entity;
  * @version 1.0, 2024-09-08
  */
 
+import io.github.guisso.taskmanagement.mapping.Hydrate;
+import io.github.guisso.taskmanagement.mapping.Table;
 import java.time.LocalDate;
 
+@Table("users")
 public class User extends Entity {
 
     private String name;
@@ -70,4 +73,19 @@ public class User extends Entity {
         this.active = active;
     }
     //</editor-fold>
+
+    /**
+     * Fills the user with a row read by the DAO. Database values are
+     * trusted, so the validating setters are skipped.
+     */
+    @Hydrate
+    final void assign(long id, String name, String email,
+            String password, LocalDate lastAccess, boolean active) {
+        setId(id);
+        this.name = name;
+        this.email = email;
+        this.password = password;
+        this.lastAccess = lastAccess;
+        this.active = active;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,710 @@
+/*
+ * CC BY-NC-SA 4.0
+ *
+ * Copyright 2022 Luis Guisso &lt;luis dot guisso at ifnmg dot edu dot br&gt;.
+ *
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ *
+ * You are free to:
+ *   Share - copy and redistribute the material in any medium or format
+ *   Adapt - remix, transform, and build upon the material
+ *
+ * Under the following terms:
+ *   Attribution - You must give appropriate credit, provide 
+ *   a link to the license, and indicate if changes were made.
+ *   You may do so in any reasonable manner, but not in any 
+ *   way that suggests the licensor endorses you or your use.
+ *   NonCommercial - You may not use the material for commercial purposes.
+ *   ShareAlike - If you remix, transform, or build upon the 
+ *   material, you must distribute your contributions under 
+ *   the same license as the original.
+ *   No additional restrictions - You may not apply legal 
+ *   terms or technological measures that legally restrict 
+ *   others from doing anything the license permits.
+ *
+ * Notices:
+ *   You do not have to comply with the license for elements 
+ *   of the material in the public domain or where your use 
+ *   is permitted by an applicable exception or limitation.
+ *   No warranties are given. The license may not give you 
+ *   all of the permissions necessary for your intended use. 
+ *   For example, other rights such as publicity, privacy, 
+ *   or moral rights may limit how you use the material.
+ */
+package io.github.guisso.taskmanagement.mapping.processor;
+
+import io.github.guisso.taskmanagement.mapping.Column;
+import io.github.guisso.taskmanagement.mapping.Hydrate;
+import io.github.guisso.taskmanagement.mapping.Table;
+import io.github.guisso.taskmanagement.mapping.Transient;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.Function;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Class MappingProcessor
+ *
+ * Generates, for every class annotated with {@link Table}, a final class
+ * named after it with a {@code Mapping} suffix in the same package. The
+ * generated class holds the SQL statements of the table as constants,
+ * binders that set the statement parameters through the entity getters and
+ * a row mapper that resolves the column indexes once per ResultSet. All of
+ * it is plain Java, so there is no reflection, runtime metadata or startup
+ * scanning, and every call site stays monomorphic.
+ *
+ * @version 0.1, 2026-10-17
+ */
+@SupportedAnnotationTypes("io.github.guisso.taskmanagement.mapping.Table")
+public class MappingProcessor extends AbstractProcessor {
+
+    private static final String ROW_MAPPER = "io.github.guisso.taskmanagement.repository.RowMapper";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(Table.class)) {
+            if (element.getKind() != ElementKind.CLASS) {
+                error(element, "@Table applies to classes only");
+                continue;
+            }
+
+            try {
+                generate((TypeElement) element);
+            } catch (MappingException ex) {
+                error(ex.element, ex.getMessage());
+            } catch (IOException ex) {
+                error(element, "Cannot write mapping: " + ex.getMessage());
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement entity) throws IOException {
+        Table table = entity.getAnnotation(Table.class);
+        TypeElement parent = findMappedSuperclass(entity);
+        if (parent != null && findMappedSuperclass(parent) != null) {
+            throw new MappingException(entity, "Only one level of joined tables is supported");
+        }
+
+        List<MappedColumn> own = columnsOf(entity, table.value());
+        List<MappedColumn> inherited = parent == null
+                ? new ArrayList<>()
+                : columnsOfHierarchy(parent, parent.getAnnotation(Table.class).value());
+        if (parent != null && own.isEmpty()) {
+            throw new MappingException(entity, "A joined entity must declare at least one column");
+        }
+
+        List<MappedColumn> all = new ArrayList<>(inherited);
+        all.addAll(own);
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(entity).getQualifiedName().toString();
+        String entityName = entity.getSimpleName().toString();
+        String className = entityName + "Mapping";
+
+        Map<String, String> sql = statements(table, parent, own, all);
+        ExecutableElement hydrator = findHydrator(entity, all);
+
+        StringBuilder out = new StringBuilder();
+        out.append("package ").append(packageName).append(";\n\n");
+        out.append("import java.sql.PreparedStatement;\n");
+        out.append("import java.sql.ResultSet;\n");
+        out.append("import java.sql.SQLException;\n");
+        out.append("import java.sql.Types;\n");
+        out.append("import java.util.List;\n");
+        out.append("import java.util.Map;\n");
+        out.append("import java.util.StringJoiner;\n");
+        out.append("import javax.annotation.processing.Generated;\n\n");
+        out.append("/**\n");
+        out.append(" * SQL statements, parameter binders and row mapper of {@link ")
+                .append(entityName).append("}.\n");
+        out.append(" * Generated from its mapping annotations; do not edit.\n");
+        out.append(" */\n");
+        out.append("@Generated(\"").append(MappingProcessor.class.getName()).append("\")\n");
+        out.append("public final class ").append(className).append(" {\n\n");
+
+        for (Map.Entry<String, String> statement : sql.entrySet()) {
+            out.append("    public static final String ").append(statement.getKey())
+                    .append(" = ").append(literal(statement.getValue())).append(";\n\n");
+        }
+
+        appendFindByIds(out, sql.get("SELECT_SQL"), idReference(table, parent));
+        appendProjection(out, entityName, table, parent, all);
+        appendQueryColumns(out, entityName, parent, all);
+        appendInsertBinder(out, entityName, parent != null, own);
+        appendUpdateBinder(out, entityName, own);
+        appendDirtyUpdate(out, entityName, table.value(), own);
+        appendCopy(out, entityName, all, hydrator);
+        appendRowMapper(out, entityName, all, hydrator);
+
+        out.append("    private ").append(className).append("() {\n");
+        out.append("    }\n");
+        out.append("}\n");
+
+        try (Writer writer = processingEnv.getFiler()
+                .createSourceFile(packageName + "." + className, entity).openWriter()) {
+            writer.write(out.toString());
+        }
+    }
+
+    // <editor-fold defaultstate="collapsed" desc="SQL">
+    private Map<String, String> statements(Table table, TypeElement parent,
+            List<MappedColumn> own, List<MappedColumn> all) {
+        String name = table.value();
+        String id = idReference(table, parent);
+        String trash = trashReference(table, parent);
+
+        String select = "SELECT " + String.join(", ", columnReferences(parent, all).values())
+                + " FROM " + fromClause(table, parent);
+
+        StringJoiner insertColumns = new StringJoiner(", ");
+        StringJoiner insertValues = new StringJoiner(", ");
+        StringJoiner assignments = new StringJoiner(", ");
+        if (parent != null) {
+            insertColumns.add("id");
+            insertValues.add("?");
+        }
+        for (MappedColumn column : own) {
+            insertColumns.add(column.column);
+            insertValues.add("?");
+            assignments.add(column.column + " = ?");
+        }
+
+        Map<String, String> sql = new LinkedHashMap<>();
+        sql.put("TABLE", name);
+        sql.put("SELECT_SQL", select);
+        sql.put("INSERT_SQL", "INSERT INTO " + name + " (" + insertColumns + ") VALUES (" + insertValues + ")");
+        sql.put("UPDATE_SQL", "UPDATE " + name + " SET " + assignments + " WHERE id = ?");
+        sql.put("DELETE_SQL", "DELETE FROM " + name + " WHERE id = ?");
+        sql.put("FIND_BY_ID_SQL", select + " WHERE " + id + " = ?");
+        sql.put("FIND_ALL_NOT_ON_TRASH_SQL", select + " WHERE " + trash + " = false");
+        sql.put("FIND_ALL_ON_TRASH_SQL", select + " WHERE " + trash + " = true");
+        sql.put("FIND_PAGE_SQL", select + " WHERE " + trash + " = false AND " + id + " > ? ORDER BY " + id + " LIMIT ?");
+        sql.put("FIND_PAGE_ON_TRASH_SQL", select + " WHERE " + trash + " = true AND " + id + " > ? ORDER BY " + id + " LIMIT ?");
+        sql.put("MOVE_TO_TRASH_SQL", "UPDATE " + name + " SET " + table.trashColumn() + " = true WHERE id = ?");
+        sql.put("RESTORE_FROM_TRASH_SQL", "UPDATE " + name + " SET " + table.trashColumn() + " = false WHERE id = ?");
+        return sql;
+    }
+
+    private static String idReference(Table table, TypeElement parent) {
+        return parent == null ? "id" : table.value() + ".id";
+    }
+
+    private static String trashReference(Table table, TypeElement parent) {
+        return parent == null ? table.trashColumn() : table.value() + "." + table.trashColumn();
+    }
+
+    // Joined entities read from their own table joined with the parent's
+    private static String fromClause(Table table, TypeElement parent) {
+        if (parent == null) {
+            return table.value();
+        }
+        String parentName = parent.getAnnotation(Table.class).value();
+        return table.value() + " INNER JOIN " + parentName
+                + " ON " + table.value() + ".id = " + parentName + ".id";
+    }
+
+    // Selectable columns by name, with the reference used in a SELECT list,
+    // qualified by table when joined
+    private static Map<String, String> columnReferences(TypeElement parent, List<MappedColumn> all) {
+        Map<String, String> references = new LinkedHashMap<>();
+        references.put("id", parent == null ? "id" : parent.getAnnotation(Table.class).value() + ".id");
+        for (MappedColumn column : all) {
+            references.put(column.column, parent == null ? column.column : column.table + "." + column.column);
+        }
+        return references;
+    }
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="Code">
+    private void appendFindByIds(StringBuilder out, String select, String id) {
+        out.append("    public static String findByIdsSql(int count) {\n");
+        out.append("        StringBuilder sql = new StringBuilder(")
+                .append(literal(select + " WHERE " + id + " IN (")).append(");\n");
+        out.append("        for (int i = 0; i < count; i++) {\n");
+        out.append("            sql.append(i == 0 ? \"?\" : \", ?\");\n");
+        out.append("        }\n");
+        out.append("        return sql.append(')').toString();\n");
+        out.append("    }\n\n");
+    }
+
+    // Narrowed SELECT of the requested columns only, validated against the
+    // mapped ones since the column names come from the caller
+    private void appendProjection(StringBuilder out, String entityName, Table table,
+            TypeElement parent, List<MappedColumn> all) {
+        StringJoiner entries = new StringJoiner(",\n            ");
+        for (Map.Entry<String, String> column : columnReferences(parent, all).entrySet()) {
+            entries.add("Map.entry(" + literal(column.getKey()) + ", " + literal(column.getValue()) + ")");
+        }
+        String id = idReference(table, parent);
+
+        out.append("    private static final Map<String, String> COLUMNS = Map.ofEntries(\n            ")
+                .append(entries).append(");\n\n");
+
+        out.append("    public static String projectionSql(List<String> columns, boolean trashed, boolean page) {\n");
+        out.append("        StringJoiner selected = new StringJoiner(\", \");\n");
+        out.append("        for (String column : columns) {\n");
+        out.append("            String reference = COLUMNS.get(column);\n");
+        out.append("            if (reference == null) {\n");
+        out.append("                throw new IllegalArgumentException(")
+                .append(literal("Unknown column of " + entityName + ": ")).append(" + column);\n");
+        out.append("            }\n");
+        out.append("            selected.add(reference);\n");
+        out.append("        }\n");
+        out.append("        return \"SELECT \" + selected + ")
+                .append(literal(" FROM " + fromClause(table, parent) + " WHERE " + trashReference(table, parent) + " = "))
+                .append(" + trashed\n");
+        out.append("                + (page ? ").append(literal(" AND " + id + " > ? ORDER BY " + id + " LIMIT ?"))
+                .append(" : \"\");\n");
+        out.append("    }\n\n");
+    }
+
+    // Typed columns for Query conditions and ordering, named after the fields
+    private void appendQueryColumns(StringBuilder out, String entityName,
+            TypeElement parent, List<MappedColumn> all) {
+        String columnType = "io.github.guisso.taskmanagement.repository.Query.Column";
+        Map<String, String> references = columnReferences(parent, all);
+
+        out.append("    public static final ").append(columnType).append("<").append(entityName)
+                .append(", java.lang.Long> ID\n            = new ").append(columnType)
+                .append("<>(").append(literal(references.get("id"))).append(", Types.BIGINT);\n\n");
+        for (MappedColumn column : all) {
+            out.append("    public static final ").append(columnType).append("<").append(entityName)
+                    .append(", ").append(column.boxedTypeName()).append("> ")
+                    .append(snakeCase(column.field).toUpperCase(Locale.ROOT))
+                    .append("\n            = new ").append(columnType)
+                    .append("<>(").append(literal(references.get(column.column))).append(", ")
+                    .append(column.sqlType()).append(");\n\n");
+        }
+    }
+
+    private void appendInsertBinder(StringBuilder out, String entityName, boolean joined, List<MappedColumn> own) {
+        int index = 1;
+        if (joined) {
+            out.append("    public static void bindInsert(PreparedStatement statement, long id, ")
+                    .append(entityName).append(" entity) throws SQLException {\n");
+            out.append("        statement.setLong(").append(index++).append(", id);\n");
+        } else {
+            out.append("    public static void bindInsert(PreparedStatement statement, ")
+                    .append(entityName).append(" entity) throws SQLException {\n");
+        }
+        for (MappedColumn column : own) {
+            out.append("        ").append(column.binder(index++)).append(";\n");
+        }
+        out.append("    }\n\n");
+    }
+
+    private void appendUpdateBinder(StringBuilder out, String entityName, List<MappedColumn> own) {
+        int index = 1;
+        out.append("    public static void bindUpdate(PreparedStatement statement, ")
+                .append(entityName).append(" entity) throws SQLException {\n");
+        for (MappedColumn column : own) {
+            out.append("        ").append(column.binder(index++)).append(";\n");
+        }
+        out.append("        statement.setLong(").append(index).append(", entity.getId());\n");
+        out.append("    }\n\n");
+    }
+
+    // Column state for dirty checking: the own column values in UPDATE_SQL
+    // order, and an UPDATE of the columns flagged dirty only
+    private void appendDirtyUpdate(StringBuilder out, String entityName, String table, List<MappedColumn> own) {
+        StringJoiner columns = new StringJoiner(", ");
+        StringJoiner values = new StringJoiner(",\n            ");
+        for (MappedColumn column : own) {
+            columns.add(literal(column.column));
+            values.add("entity." + column.getter + "()");
+        }
+
+        out.append("    private static final String[] UPDATE_COLUMNS = {").append(columns).append("};\n\n");
+        out.append("    // Column names of the values returned by state()\n");
+        out.append("    public static final List<String> STATE_COLUMNS = List.of(UPDATE_COLUMNS);\n\n");
+
+        out.append("    public static Object[] state(").append(entityName).append(" entity) {\n");
+        out.append("        return new Object[]{\n            ").append(values).append("};\n");
+        out.append("    }\n\n");
+
+        out.append("    public static String updateSql(boolean[] dirty) {\n");
+        out.append("        StringJoiner assignments = new StringJoiner(\", \");\n");
+        out.append("        for (int i = 0; i < UPDATE_COLUMNS.length; i++) {\n");
+        out.append("            if (dirty[i]) {\n");
+        out.append("                assignments.add(UPDATE_COLUMNS[i] + \" = ?\");\n");
+        out.append("            }\n");
+        out.append("        }\n");
+        out.append("        return ").append(literal("UPDATE " + table + " SET "))
+                .append(" + assignments + \" WHERE id = ?\";\n");
+        out.append("    }\n\n");
+
+        out.append("    public static void bindUpdate(PreparedStatement statement, ")
+                .append(entityName).append(" entity, boolean[] dirty) throws SQLException {\n");
+        out.append("        int index = 1;\n");
+        for (int i = 0; i < own.size(); i++) {
+            out.append("        if (dirty[").append(i).append("]) {\n");
+            out.append("            ").append(own.get(i).binder("index++")).append(";\n");
+            out.append("        }\n");
+        }
+        out.append("        statement.setLong(index, entity.getId());\n");
+        out.append("    }\n\n");
+    }
+
+    private void appendRowMapper(StringBuilder out, String entityName,
+            List<MappedColumn> all, ExecutableElement hydrator) {
+        String mapperType = ROW_MAPPER + "<" + entityName + ">";
+
+        out.append("    public static ").append(mapperType)
+                .append(" rowMapper(ResultSet resultSet) throws SQLException {\n");
+        out.append("        return new Mapper(resultSet);\n");
+        out.append("    }\n\n");
+
+        out.append("    private static final class Mapper implements ").append(mapperType).append(" {\n\n");
+        out.append("        private final int id;\n");
+        for (MappedColumn column : all) {
+            out.append("        private final int ").append(column.field).append(";\n");
+        }
+        out.append("\n");
+
+        out.append("        Mapper(ResultSet resultSet) throws SQLException {\n");
+        out.append("            id = resultSet.findColumn(\"id\");\n");
+        for (MappedColumn column : all) {
+            out.append("            ").append(column.field).append(" = resultSet.findColumn(")
+                    .append(literal(column.column)).append(");\n");
+        }
+        out.append("        }\n\n");
+
+        out.append("        @Override\n");
+        out.append("        public ").append(entityName).append(" map(ResultSet resultSet) throws SQLException {\n");
+        appendConstruction(out, "            ", entityName, all, hydrator,
+                "resultSet.getLong(id)", MappedColumn::reader);
+        out.append("            return entity;\n");
+        out.append("        }\n");
+        out.append("    }\n\n");
+    }
+
+    // Copy of an entity, detached from the original, for the second-level
+    // cache to keep and hand out without sharing instances
+    private void appendCopy(StringBuilder out, String entityName,
+            List<MappedColumn> all, ExecutableElement hydrator) {
+        out.append("    public static ").append(entityName).append(" copy(")
+                .append(entityName).append(" source) {\n");
+        appendConstruction(out, "        ", entityName, all, hydrator,
+                "source.getId()", column -> "source." + column.getter + "()");
+        out.append("        entity.setExcluded(source.isExcluded());\n");
+        out.append("        return entity;\n");
+        out.append("    }\n\n");
+    }
+
+    // New entity filled through the hydrator, if any, then the setters
+    private void appendConstruction(StringBuilder out, String indent, String entityName,
+            List<MappedColumn> all, ExecutableElement hydrator, String id,
+            Function<MappedColumn, String> value) {
+        out.append(indent).append(entityName).append(" entity = new ").append(entityName).append("();\n");
+
+        List<MappedColumn> remaining = new ArrayList<>(all);
+        boolean idSet = false;
+        if (hydrator != null) {
+            StringJoiner arguments = new StringJoiner(",\n" + indent + "        ");
+            for (VariableElement parameter : hydrator.getParameters()) {
+                String name = parameter.getSimpleName().toString();
+                if (name.equals("id")) {
+                    arguments.add(id);
+                    idSet = true;
+                    continue;
+                }
+                MappedColumn column = find(remaining, name);
+                arguments.add(value.apply(column));
+                remaining.remove(column);
+            }
+            out.append(indent).append("entity.").append(hydrator.getSimpleName()).append("(")
+                    .append(arguments).append(");\n");
+        }
+        if (!idSet) {
+            out.append(indent).append("entity.setId(").append(id).append(");\n");
+        }
+        for (MappedColumn column : remaining) {
+            out.append(indent).append("entity.").append(column.setter).append("(")
+                    .append(value.apply(column)).append(");\n");
+        }
+    }
+    // </editor-fold>
+
+    // <editor-fold defaultstate="collapsed" desc="Model">
+    private TypeElement findMappedSuperclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        while (superclass.getKind() == TypeKind.DECLARED) {
+            TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+            if (element.getAnnotation(Table.class) != null) {
+                return element;
+            }
+            superclass = element.getSuperclass();
+        }
+        return null;
+    }
+
+    // Columns of a mapped class and of its unmapped superclasses, superclass first
+    private List<MappedColumn> columnsOfHierarchy(TypeElement type, String table) {
+        List<MappedColumn> columns = new ArrayList<>();
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() == TypeKind.DECLARED) {
+            TypeElement element = (TypeElement) ((DeclaredType) superclass).asElement();
+            if (!element.getQualifiedName().contentEquals("java.lang.Object")
+                    && !element.getQualifiedName().contentEquals("io.github.guisso.taskmanagement.entity.Entity")) {
+                columns.addAll(columnsOfHierarchy(element, table));
+            }
+        }
+        columns.addAll(columnsOf(type, table));
+        return columns;
+    }
+
+    private List<MappedColumn> columnsOf(TypeElement type, String table) {
+        List<MappedColumn> columns = new ArrayList<>();
+        if (type.getAnnotation(Table.class) == null) {
+            return columns;
+        }
+
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (field.getModifiers().contains(Modifier.STATIC)
+                    || field.getAnnotation(Transient.class) != null) {
+                continue;
+            }
+
+            String name = field.getSimpleName().toString();
+            Column column = field.getAnnotation(Column.class);
+            String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+
+            String getter = "get" + capitalized;
+            if (field.asType().getKind() == TypeKind.BOOLEAN) {
+                getter = "is" + capitalized;
+            }
+            requireMethod(type, field, getter, 0);
+            requireMethod(type, field, "set" + capitalized, 1);
+
+            columns.add(new MappedColumn(name,
+                    column == null ? snakeCase(name) : column.value(),
+                    table, field.asType(), getter, "set" + capitalized));
+        }
+        return columns;
+    }
+
+    private void requireMethod(TypeElement type, VariableElement field, String name, int parameters) {
+        for (ExecutableElement method : ElementFilter.methodsIn(
+                processingEnv.getElementUtils().getAllMembers(type))) {
+            if (method.getSimpleName().contentEquals(name)
+                    && method.getParameters().size() == parameters
+                    && !method.getModifiers().contains(Modifier.PRIVATE)) {
+                return;
+            }
+        }
+        throw new MappingException(field, "Mapped field needs a non-private " + name + " method");
+    }
+
+    private ExecutableElement findHydrator(TypeElement entity, List<MappedColumn> columns) {
+        for (ExecutableElement method : ElementFilter.methodsIn(
+                processingEnv.getElementUtils().getAllMembers(entity))) {
+            if (method.getAnnotation(Hydrate.class) == null) {
+                continue;
+            }
+            if (method.getModifiers().contains(Modifier.PRIVATE)
+                    || method.getModifiers().contains(Modifier.STATIC)) {
+                throw new MappingException(method, "@Hydrate methods must be non-private instance methods");
+            }
+            for (VariableElement parameter : method.getParameters()) {
+                String name = parameter.getSimpleName().toString();
+                if (!name.equals("id") && find(columns, name) == null) {
+                    throw new MappingException(parameter, "No mapped field named " + name);
+                }
+            }
+            return method;
+        }
+        return null;
+    }
+
+    private static MappedColumn find(List<MappedColumn> columns, String field) {
+        for (MappedColumn column : columns) {
+            if (column.field.equals(field)) {
+                return column;
+            }
+        }
+        return null;
+    }
+
+    private static String snakeCase(String name) {
+        StringBuilder column = new StringBuilder();
+        for (char c : name.toCharArray()) {
+            if (Character.isUpperCase(c)) {
+                column.append('_').append(Character.toLowerCase(c));
+            } else {
+                column.append(c);
+            }
+        }
+        return column.toString();
+    }
+
+    private static String literal(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+    // </editor-fold>
+
+    /**
+     * A mapped field with its column and the JDBC accessors of its type
+     */
+    private static final class MappedColumn {
+
+        private final String field;
+        private final String column;
+        private final String table;
+        private final TypeMirror type;
+        private final String getter;
+        private final String setter;
+
+        MappedColumn(String field, String column, String table, TypeMirror type, String getter, String setter) {
+            this.field = field;
+            this.column = column;
+            this.table = table;
+            this.type = type;
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        String binder(int index) {
+            return binder(String.valueOf(index));
+        }
+
+        String binder(String index) {
+            String value = "entity." + getter + "()";
+            switch (typeName()) {
+                case "java.lang.String":
+                    return "statement.setString(" + index + ", " + value + ")";
+                case "boolean":
+                case "java.lang.Boolean":
+                    return "statement.setBoolean(" + index + ", " + value + ")";
+                case "long":
+                case "java.lang.Long":
+                    return "statement.setLong(" + index + ", " + value + ")";
+                case "int":
+                case "java.lang.Integer":
+                    return "statement.setInt(" + index + ", " + value + ")";
+                case "double":
+                case "java.lang.Double":
+                    return "statement.setDouble(" + index + ", " + value + ")";
+                case "java.time.LocalDate":
+                    return "statement.setObject(" + index + ", " + value + ", Types.DATE)";
+                case "java.time.LocalDateTime":
+                    return "statement.setObject(" + index + ", " + value + ", Types.TIMESTAMP)";
+                default:
+                    return "statement.setObject(" + index + ", " + value + ")";
+            }
+        }
+
+        String reader() {
+            switch (typeName()) {
+                case "java.lang.String":
+                    return "resultSet.getString(" + field + ")";
+                case "boolean":
+                case "java.lang.Boolean":
+                    return "resultSet.getBoolean(" + field + ")";
+                case "long":
+                case "java.lang.Long":
+                    return "resultSet.getLong(" + field + ")";
+                case "int":
+                case "java.lang.Integer":
+                    return "resultSet.getInt(" + field + ")";
+                case "double":
+                case "java.lang.Double":
+                    return "resultSet.getDouble(" + field + ")";
+                default:
+                    return "resultSet.getObject(" + field + ", " + typeName() + ".class)";
+            }
+        }
+
+        String boxedTypeName() {
+            switch (typeName()) {
+                case "boolean":
+                    return "java.lang.Boolean";
+                case "byte":
+                    return "java.lang.Byte";
+                case "short":
+                    return "java.lang.Short";
+                case "char":
+                    return "java.lang.Character";
+                case "int":
+                    return "java.lang.Integer";
+                case "long":
+                    return "java.lang.Long";
+                case "float":
+                    return "java.lang.Float";
+                case "double":
+                    return "java.lang.Double";
+                default:
+                    return typeName();
+            }
+        }
+
+        String sqlType() {
+            switch (boxedTypeName()) {
+                case "java.lang.String":
+                    return "Types.VARCHAR";
+                case "java.lang.Boolean":
+                    return "Types.BOOLEAN";
+                case "java.lang.Long":
+                    return "Types.BIGINT";
+                case "java.lang.Integer":
+                    return "Types.INTEGER";
+                case "java.lang.Double":
+                    return "Types.DOUBLE";
+                case "java.time.LocalDate":
+                    return "Types.DATE";
+                case "java.time.LocalDateTime":
+                    return "Types.TIMESTAMP";
+                default:
+                    return "Types.OTHER";
+            }
+        }
+
+        private String typeName() {
+            return type.toString();
+        }
+    }
+
+    /**
+     * Reports a mapping error against the offending element
+     */
+    private static final class MappingException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Element element;
+
+        MappingException(Element element, String message) {
+            super(message);
+            this.element = element;
+        }
+    }
+}
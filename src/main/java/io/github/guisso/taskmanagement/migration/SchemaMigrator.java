@@ -0,0 +1,520 @@
+/*
+ * CC BY-NC-SA 4.0
+ *
+ * Copyright 2022 Luis Guisso &lt;luis dot guisso at ifnmg dot edu dot br&gt;.
+ *
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ *
+ * You are free to:
+ *   Share - copy and redistribute the material in any medium or format
+ *   Adapt - remix, transform, and build upon the material
+ *
+ * Under the following terms:
+ *   Attribution - You must give appropriate credit, provide 
+ *   a link to the license, and indicate if changes were made.
+ *   You may do so in any reasonable manner, but not in any 
+ *   way that suggests the licensor endorses you or your use.
+ *   NonCommercial - You may not use the material for commercial purposes.
+ *   ShareAlike - If you remix, transform, or build upon the 
+ *   material, you must distribute your contributions under 
+ *   the same license as the original.
+ *   No additional restrictions - You may not apply legal 
+ *   terms or technological measures that legally restrict 
+ *   others from doing anything the license permits.
+ *
+ * Notices:
+ *   You do not have to comply with the license for elements 
+ *   of the material in the public domain or where your use 
+ *   is permitted by an applicable exception or limitation.
+ *   No warranties are given. The license may not give you 
+ *   all of the permissions necessary for your intended use. 
+ *   For example, other rights such as publicity, privacy, 
+ *   or moral rights may limit how you use the material.
+ */
+package io.github.guisso.taskmanagement.migration;
+
+import io.github.guisso.taskmanagement.repository.DataAccessException;
+import io.github.guisso.taskmanagement.repository.DbConnection;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * Class SchemaMigrator
+ *
+ * Versioned schema migrations of the DAO tables. The scripts live in
+ * {@value #LOCATION} as <code>V&lt;version&gt;__&lt;description&gt;.sql</code>,
+ * are listed in {@link #MIGRATIONS} and run once each, in version order.
+ * Every applied version is recorded with the checksum of its script in
+ * the {@value #VERSION_TABLE} table, so an edited script is reported
+ * instead of silently skipped.
+ *
+ * {@link #migrate()} is meant to run at startup; after migrating it checks
+ * that every index in {@link #REQUIRED_INDEXES} exists, whoever created
+ * it, so the DAO queries stay index-backed in every environment.
+ *
+ * Scripts do not run in a transaction (MySQL commits each DDL statement),
+ * so a failed script may be partially applied. The statements completed
+ * so far are counted in {@value #PROGRESS_TABLE}, and a rerun resumes
+ * after them. A <code>CREATE [UNIQUE] INDEX</code> statement is skipped
+ * when information_schema.statistics already lists the index, as on a
+ * database restored from a dump that has it. Before a unique index is
+ * created, the table is checked for duplicate keys, which fail the
+ * migration with the offending values.
+ *
+ * Only one process should migrate a database at a time.
+ *
+ * @version 0.1, 2026-10-17
+ */
+public final class SchemaMigrator {
+
+    private static final Logger LOGGER = Logger.getLogger(SchemaMigrator.class.getName());
+
+    public static final String LOCATION = "/db/migration/";
+
+    public static final String VERSION_TABLE = "schema_version";
+
+    public static final String PROGRESS_TABLE = "schema_version_progress";
+
+    // Duplicate keys listed when a unique index cannot be created
+    private static final int MAX_REPORTED_DUPLICATES = 5;
+
+    private static final Pattern CREATE_INDEX = Pattern.compile(
+            "(?is)^CREATE\\s+(UNIQUE\\s+)?INDEX\\s+(\\w+)\\s+ON\\s+(\\w+)\\s*\\(([^)]*)\\)$");
+
+    /**
+     * Migration scripts in version order
+     */
+    public static final List<String> MIGRATIONS = Collections.unmodifiableList(Arrays.asList(
+            "V1__create_tables.sql",
+            "V2__add_query_indexes.sql",
+            "V3__add_special_task_procedure.sql"));
+
+    /**
+     * Indexes the DAO queries rely on
+     */
+    public static final List<RequiredIndex> REQUIRED_INDEXES = Collections.unmodifiableList(Arrays.asList(
+            new RequiredIndex("task", false, "deleted", "id"),
+            new RequiredIndex("task", false, "name"),
+            new RequiredIndex("users", false, "deleted", "id"),
+            new RequiredIndex("users", true, "email"),
+            new RequiredIndex("tarefaespecial", false, "excluido", "id")));
+
+    private static final String CREATE_VERSION_TABLE_SQL = "CREATE TABLE IF NOT EXISTS " + VERSION_TABLE
+            + " (version INT NOT NULL PRIMARY KEY,"
+            + " description VARCHAR(200) NOT NULL,"
+            + " checksum BIGINT NOT NULL,"
+            + " installed_on TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)";
+
+    private static final String CREATE_PROGRESS_TABLE_SQL = "CREATE TABLE IF NOT EXISTS " + PROGRESS_TABLE
+            + " (version INT NOT NULL PRIMARY KEY,"
+            + " statements INT NOT NULL)";
+
+    private static final String FIND_VERSIONS_SQL = "SELECT version, checksum FROM " + VERSION_TABLE;
+
+    private static final String INSERT_VERSION_SQL = "INSERT INTO " + VERSION_TABLE
+            + " (version, description, checksum) VALUES (?, ?, ?)";
+
+    private static final String FIND_PROGRESS_SQL = "SELECT statements FROM " + PROGRESS_TABLE
+            + " WHERE version = ?";
+
+    private static final String INSERT_PROGRESS_SQL = "INSERT INTO " + PROGRESS_TABLE
+            + " (version, statements) VALUES (?, ?)";
+
+    private static final String UPDATE_PROGRESS_SQL = "UPDATE " + PROGRESS_TABLE
+            + " SET statements = ? WHERE version = ?";
+
+    private static final String DELETE_PROGRESS_SQL = "DELETE FROM " + PROGRESS_TABLE
+            + " WHERE version = ?";
+
+    private static final String FIND_INDEX_SQL = "SELECT 1 FROM information_schema.statistics"
+            + " WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ? LIMIT 1";
+
+    /**
+     * Applies the pending migrations, then checks the required indexes
+     *
+     * @return Number of migrations applied
+     * @throws DataAccessException If a migration fails, an applied script
+     * was changed, or a required index is missing
+     */
+    public static int migrate() {
+        int applied = applyPending();
+        verifyIndexes();
+        return applied;
+    }
+
+    /**
+     * Applies the migrations not yet recorded in {@value #VERSION_TABLE}
+     *
+     * @return Number of migrations applied
+     * @throws DataAccessException If a migration fails or an applied script
+     * was changed
+     */
+    public static int applyPending() {
+        try (Connection connection = DbConnection.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_VERSION_TABLE_SQL);
+                statement.execute(CREATE_PROGRESS_TABLE_SQL);
+            }
+
+            Map<Integer, Long> installed = new HashMap<>();
+            try (PreparedStatement preparedStatement = connection.prepareStatement(FIND_VERSIONS_SQL);
+                    ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    installed.put(resultSet.getInt(1), resultSet.getLong(2));
+                }
+            }
+
+            int applied = 0;
+            for (Migration migration : load()) {
+                Long checksum = installed.get(migration.version);
+                if (checksum == null) {
+                    apply(connection, migration);
+                    applied++;
+                } else if (checksum != migration.checksum) {
+                    throw new DataAccessException("Migration V" + migration.version
+                            + " was changed after being applied (checksum " + checksum
+                            + " in " + VERSION_TABLE + ", " + migration.checksum + " now)");
+                }
+            }
+            return applied;
+
+        } catch (SQLException ex) {
+            throw new DataAccessException("Cannot migrate the schema", ex);
+        }
+    }
+
+    /**
+     * Checks that every index in {@link #REQUIRED_INDEXES} exists; an index
+     * qualifies if its leading columns are the required ones, whatever its
+     * name
+     *
+     * @throws DataAccessException If an index is missing or the catalog
+     * cannot be read
+     */
+    public static void verifyIndexes() {
+        List<RequiredIndex> missing = findMissingIndexes();
+        if (!missing.isEmpty()) {
+            throw new DataAccessException("Missing indexes: " + missing);
+        }
+    }
+
+    /**
+     * Lists the required indexes the database lacks
+     *
+     * @return Missing indexes, empty if all exist
+     * @throws DataAccessException If the catalog cannot be read
+     */
+    public static List<RequiredIndex> findMissingIndexes() {
+        List<RequiredIndex> missing = new ArrayList<>();
+
+        try (Connection connection = DbConnection.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            Map<String, List<IndexColumns>> byTable = new HashMap<>();
+
+            for (RequiredIndex required : REQUIRED_INDEXES) {
+                List<IndexColumns> indexes = byTable.get(required.table);
+                if (indexes == null) {
+                    indexes = readIndexes(connection, metaData, required.table);
+                    byTable.put(required.table, indexes);
+                }
+                if (indexes.stream().noneMatch(required::isSatisfiedBy)) {
+                    missing.add(required);
+                }
+            }
+
+        } catch (SQLException ex) {
+            throw new DataAccessException("Cannot read the indexes", ex);
+        }
+
+        return missing;
+    }
+
+    private static void apply(Connection connection, Migration migration) throws SQLException {
+        int done = findProgress(connection, migration.version);
+        if (done > 0) {
+            LOGGER.log(Level.WARNING, "Resuming partially applied migration V" + migration.version
+                    + " " + migration.description + " after statement " + done);
+        } else {
+            LOGGER.log(Level.INFO, "Applying migration V" + migration.version + " " + migration.description);
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            for (int i = done; i < migration.statements.size(); i++) {
+                execute(connection, statement, migration.statements.get(i));
+                recordProgress(connection, migration.version, i + 1, i == 0 && done == 0);
+            }
+        } catch (SQLException ex) {
+            throw new DataAccessException("Migration V" + migration.version + " failed", ex);
+        }
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(INSERT_VERSION_SQL)) {
+            preparedStatement.setInt(1, migration.version);
+            preparedStatement.setString(2, migration.description);
+            preparedStatement.setLong(3, migration.checksum);
+            preparedStatement.executeUpdate();
+        }
+        try (PreparedStatement preparedStatement = connection.prepareStatement(DELETE_PROGRESS_SQL)) {
+            preparedStatement.setInt(1, migration.version);
+            preparedStatement.executeUpdate();
+        }
+    }
+
+    // Runs one statement; index creation is skipped if the index exists and,
+    // when unique, refused with the duplicate keys found
+    private static void execute(Connection connection, Statement statement, String sql) throws SQLException {
+        Matcher index = CREATE_INDEX.matcher(sql.trim());
+        if (index.matches()) {
+            String table = index.group(3);
+            String name = index.group(2);
+            if (indexExists(connection, table, name)) {
+                LOGGER.log(Level.INFO, "Index " + name + " on " + table + " already exists, skipped");
+                return;
+            }
+            if (index.group(1) != null) {
+                checkNoDuplicates(connection, table, name, index.group(4).trim());
+            }
+        }
+        statement.execute(sql);
+    }
+
+    private static boolean indexExists(Connection connection, String table, String name) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(FIND_INDEX_SQL)) {
+            preparedStatement.setString(1, table);
+            preparedStatement.setString(2, name);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next();
+            }
+        }
+    }
+
+    private static void checkNoDuplicates(Connection connection, String table, String name,
+            String columns) throws SQLException {
+        List<String> duplicates = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("SELECT " + columns + ", COUNT(*) FROM " + table
+                        + " GROUP BY " + columns + " HAVING COUNT(*) > 1 LIMIT " + MAX_REPORTED_DUPLICATES)) {
+            int count = resultSet.getMetaData().getColumnCount();
+            while (resultSet.next()) {
+                StringBuilder key = new StringBuilder();
+                for (int i = 1; i < count; i++) {
+                    key.append(i == 1 ? "" : ", ").append(resultSet.getString(i));
+                }
+                duplicates.add(key + " (" + resultSet.getLong(count) + " rows)");
+            }
+        }
+
+        if (!duplicates.isEmpty()) {
+            throw new DataAccessException("Cannot create unique index " + name + ": " + table
+                    + " has duplicate " + columns + " values " + duplicates
+                    + "; remove the duplicates and run the migration again");
+        }
+    }
+
+    // Statements of a version completed by an earlier, failed run
+    private static int findProgress(Connection connection, int version) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(FIND_PROGRESS_SQL)) {
+            preparedStatement.setInt(1, version);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() ? resultSet.getInt(1) : 0;
+            }
+        }
+    }
+
+    private static void recordProgress(Connection connection, int version, int statements,
+            boolean first) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(
+                first ? INSERT_PROGRESS_SQL : UPDATE_PROGRESS_SQL)) {
+            preparedStatement.setInt(first ? 1 : 2, version);
+            preparedStatement.setInt(first ? 2 : 1, statements);
+            preparedStatement.executeUpdate();
+        }
+    }
+
+    private static List<Migration> load() {
+        List<Migration> migrations = new ArrayList<>();
+        for (String file : MIGRATIONS) {
+            migrations.add(new Migration(file, read(file)));
+        }
+        return migrations;
+    }
+
+    private static String read(String file) {
+        try (InputStream in = SchemaMigrator.class.getResourceAsStream(LOCATION + file)) {
+            if (in == null) {
+                throw new DataAccessException("Migration script not found: " + LOCATION + file);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            for (int read; (read = in.read(buffer)) != -1;) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new DataAccessException("Cannot read migration script " + file, ex);
+        }
+    }
+
+    // Index columns by index name, read from the JDBC catalog. Table names
+    // are tried as written and in upper case, for databases that fold them.
+    private static List<IndexColumns> readIndexes(Connection connection,
+            DatabaseMetaData metaData, String table) throws SQLException {
+        Map<String, IndexColumns> indexes = new HashMap<>();
+
+        for (String name : new String[]{table, table.toUpperCase(Locale.ROOT)}) {
+            try (ResultSet resultSet = metaData.getIndexInfo(connection.getCatalog(),
+                    null, name, false, false)) {
+                while (resultSet.next()) {
+                    String column = resultSet.getString("COLUMN_NAME");
+                    if (column == null) {
+                        continue;
+                    }
+                    indexes.computeIfAbsent(resultSet.getString("INDEX_NAME"),
+                            n -> new IndexColumns())
+                            .add(resultSet.getShort("ORDINAL_POSITION"),
+                                    column, !resultSet.getBoolean("NON_UNIQUE"));
+                }
+            }
+            if (!indexes.isEmpty()) {
+                break;
+            }
+        }
+
+        return new ArrayList<>(indexes.values());
+    }
+
+    /**
+     * An index the DAO queries need: its table, leading columns and
+     * whether it must be unique
+     */
+    public static final class RequiredIndex {
+
+        private final String table;
+        private final boolean unique;
+        private final List<String> columns;
+
+        public RequiredIndex(String table, boolean unique, String... columns) {
+            this.table = table;
+            this.unique = unique;
+            this.columns = Collections.unmodifiableList(Arrays.asList(columns));
+        }
+
+        private boolean isSatisfiedBy(IndexColumns index) {
+            if (unique && !index.unique) {
+                return false;
+            }
+            List<String> actual = new ArrayList<>(index.columns.values());
+            if (actual.size() < columns.size()) {
+                return false;
+            }
+            for (int i = 0; i < columns.size(); i++) {
+                if (!columns.get(i).equalsIgnoreCase(actual.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return (unique ? "UNIQUE " : "") + table + " " + columns;
+        }
+
+        //<editor-fold defaultstate="collapsed" desc="Getters">
+        public String getTable() {
+            return table;
+        }
+
+        public boolean isUnique() {
+            return unique;
+        }
+
+        public List<String> getColumns() {
+            return columns;
+        }
+        //</editor-fold>
+    }
+
+    // Columns of one existing index, by ordinal position
+    private static final class IndexColumns {
+
+        private final Map<Short, String> columns = new TreeMap<>();
+        private boolean unique;
+
+        private void add(short position, String column, boolean unique) {
+            columns.put(position, column);
+            this.unique = unique;
+        }
+    }
+
+    // One script: version and description from its file name, statements
+    // split at the delimiter ending a line, line comments removed. As in the
+    // mysql client, a DELIMITER line changes the delimiter, so routine
+    // bodies can hold semicolons.
+    private static final class Migration {
+
+        private final int version;
+        private final String description;
+        private final long checksum;
+        private final List<String> statements = new ArrayList<>();
+
+        private Migration(String file, String script) {
+            int separator = file.indexOf("__");
+            if (!file.startsWith("V") || separator < 0 || !file.endsWith(".sql")) {
+                throw new DataAccessException("Invalid migration file name: " + file);
+            }
+            this.version = Integer.parseInt(file.substring(1, separator));
+            this.description = file.substring(separator + 2, file.length() - 4).replace('_', ' ');
+
+            CRC32 crc = new CRC32();
+            crc.update(script.replace("\r\n", "\n").getBytes(StandardCharsets.UTF_8));
+            this.checksum = crc.getValue();
+
+            String delimiter = ";";
+            StringBuilder sql = new StringBuilder();
+            for (String line : script.split("\r?\n")) {
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                    continue;
+                }
+                if (trimmed.toUpperCase(Locale.ROOT).startsWith("DELIMITER ")) {
+                    delimiter = trimmed.substring("DELIMITER ".length()).trim();
+                    continue;
+                }
+                sql.append(line).append('\n');
+                if (trimmed.endsWith(delimiter)) {
+                    statements.add(sql.substring(0, sql.lastIndexOf(delimiter)).trim());
+                    sql.setLength(0);
+                }
+            }
+            if (sql.toString().trim().length() > 0) {
+                statements.add(sql.toString().trim());
+            }
+        }
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Private constructor">
+    private SchemaMigrator() {
+    }
+    //</editor-fold>
+}
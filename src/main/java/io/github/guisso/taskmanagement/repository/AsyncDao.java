@@ -0,0 +1,373 @@
+/*
+ * CC BY-NC-SA 4.0
+ *
+ * Copyright 2022 Luis Guisso &lt;luis dot guisso at ifnmg dot edu dot br&gt;.
+ *
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ *
+ * You are free to:
+ *   Share - copy and redistribute the material in any medium or format
+ *   Adapt - remix, transform, and build upon the material
+ *
+ * Under the following terms:
+ *   Attribution - You must give appropriate credit, provide 
+ *   a link to the license, and indicate if changes were made.
+ *   You may do so in any reasonable manner, but not in any 
+ *   way that suggests the licensor endorses you or your use.
+ *   NonCommercial - You may not use the material for commercial purposes.
+ *   ShareAlike - If you remix, transform, or build upon the 
+ *   material, you must distribute your contributions under 
+ *   the same license as the original.
+ *   No additional restrictions - You may not apply legal 
+ *   terms or technological measures that legally restrict 
+ *   others from doing anything the license permits.
+ *
+ * Notices:
+ *   You do not have to comply with the license for elements 
+ *   of the material in the public domain or where your use 
+ *   is permitted by an applicable exception or limitation.
+ *   No warranties are given. The license may not give you 
+ *   all of the permissions necessary for your intended use. 
+ *   For example, other rights such as publicity, privacy, 
+ *   or moral rights may limit how you use the material.
+ */
+package io.github.guisso.taskmanagement.repository;
+
+import io.github.guisso.taskmanagement.entity.Entity;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Class AsyncDao
+ *
+ * Non-blocking facade over a {@link Dao}: every call runs on the
+ * {@link #defaultExecutor() shared executor} and completes a
+ * {@link CompletableFuture}, so independent lookups can run in parallel:
+ *
+ * <pre>
+ * CompletableFuture&lt;User&gt; user = new AsyncDao&lt;&gt;(userDao).findById(userId);
+ * CompletableFuture&lt;List&lt;Task&gt;&gt; tasks = AsyncDao.supply(() -&gt; taskDao.findByName("report"));
+ * user.thenCombine(tasks, ...);
+ * </pre>
+ *
+ * On Java 21 or later the executor starts one virtual thread per call,
+ * so thousands of pending calls cost no platform threads; on older
+ * runtimes it falls back to a fixed set of daemon threads. Either way no
+ * more calls than the maximum pool size run at once, the others wait for
+ * a permit instead of for a pooled connection.
+ *
+ * Calls do not run on the caller's thread, so they take no part in its
+ * {@link UnitOfWork} or {@link Session}; they do run under its
+ * {@link Deadline}, if one is open when the call is made. A call made
+ * from inside another call on the shared executor runs at once on that
+ * call's thread, which already holds a permit: waiting for a second one
+ * would deadlock as soon as every permit is held by a waiting caller.
+ *
+ * @param <T> Entity data type
+ * @version 0.1, 2026-10-17
+ */
+public class AsyncDao<T extends Entity> {
+
+    private static volatile Executor sharedExecutor;
+
+    private final Dao<T> dao;
+    private final Executor executor;
+
+    /**
+     * Wraps a DAO, running its calls on the shared executor
+     *
+     * @param dao Blocking DAO
+     */
+    public AsyncDao(Dao<T> dao) {
+        this(dao, defaultExecutor());
+    }
+
+    /**
+     * Wraps a DAO, running its calls on the given executor
+     *
+     * @param dao Blocking DAO
+     * @param executor Executor of the calls
+     */
+    public AsyncDao(Dao<T> dao, Executor executor) {
+        this.dao = dao;
+        this.executor = executor;
+    }
+
+    /**
+     * Runs any blocking DAO call on the shared executor
+     *
+     * @param <R> Result type
+     * @param call Blocking call
+     * @return Future completed with the result of the call
+     */
+    public static <R> CompletableFuture<R> supply(Supplier<R> call) {
+        return supply(call, defaultExecutor());
+    }
+
+    /**
+     * Gets the executor shared by the facades, creating it on first use.
+     * It lets as many calls run at once as the connection pool may open
+     * connections, reading {@link DbConnection#getMaxPoolSize()} again
+     * before each call so a reconfigured pool is followed at once
+     *
+     * @return Shared executor
+     */
+    public static Executor defaultExecutor() {
+        Executor current = sharedExecutor;
+
+        if (current == null) {
+            synchronized (AsyncDao.class) {
+                current = sharedExecutor;
+                if (current == null) {
+                    current = new BoundedExecutor(DbConnection::getMaxPoolSize);
+                    sharedExecutor = current;
+                }
+            }
+        }
+
+        return current;
+    }
+
+    public CompletableFuture<Long> saveOrUpdate(T e) {
+        return call(() -> dao.saveOrUpdate(e));
+    }
+
+    public CompletableFuture<Void> delete(Long id) {
+        return run(() -> dao.delete(id));
+    }
+
+    public CompletableFuture<T> findById(Long id) {
+        return call(() -> dao.findById(id));
+    }
+
+    public CompletableFuture<Map<Long, T>> findByIds(Collection<Long> ids) {
+        return call(() -> dao.findByIds(ids));
+    }
+
+    public CompletableFuture<List<T>> findAll() {
+        return call(dao::findAll);
+    }
+
+    public CompletableFuture<Page<T>> findPage(Long afterId, int limit) {
+        return call(() -> dao.findPage(afterId, limit));
+    }
+
+    public CompletableFuture<Page<T>> findPageOnTrash(Long afterId, int limit) {
+        return call(() -> dao.findPageOnTrash(afterId, limit));
+    }
+
+    public CompletableFuture<Void> moveToTrash(T e) {
+        return run(() -> dao.moveToTrash(e));
+    }
+
+    public CompletableFuture<Void> restoreFromTrash(Long id) {
+        return run(() -> dao.restoreFromTrash(id));
+    }
+
+    public CompletableFuture<List<T>> findAllOnTrash() {
+        return call(dao::findAllOnTrash);
+    }
+
+    public CompletableFuture<List<Long>> saveAll(Collection<T> entities) {
+        return call(() -> dao.saveAll(entities));
+    }
+
+    public CompletableFuture<Void> updateAll(Collection<T> entities) {
+        return run(() -> dao.updateAll(entities));
+    }
+
+    public CompletableFuture<List<Long>> saveOrUpdateAll(Collection<T> entities) {
+        return call(() -> dao.saveOrUpdateAll(entities));
+    }
+
+    public CompletableFuture<Void> deleteAll(Collection<Long> ids) {
+        return run(() -> dao.deleteAll(ids));
+    }
+
+    private <R> CompletableFuture<R> call(Supplier<R> call) {
+        return supply(call, executor);
+    }
+
+    private CompletableFuture<Void> run(Runnable call) {
+        return call(() -> {
+            call.run();
+            return null;
+        });
+    }
+
+    private static <R> CompletableFuture<R> supply(Supplier<R> call, Executor executor) {
+        Call<R> task = new Call<>(Deadline.propagate(call));
+        executor.execute(task);
+        return task.future;
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Getters">
+    public Dao<T> getDao() {
+        return dao;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+    //</editor-fold>
+
+    /**
+     * Task completing its future whatever happens, including when the
+     * executor gives up on it before it runs
+     */
+    private static final class Call<R> implements Runnable {
+
+        private final CompletableFuture<R> future = new CompletableFuture<>();
+        private final Supplier<R> supplier;
+
+        private Call(Supplier<R> supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public void run() {
+            try {
+                future.complete(supplier.get());
+            } catch (Throwable ex) {
+                fail(ex);
+            }
+        }
+
+        // Wrapped as CompletableFuture.supplyAsync does
+        private void fail(Throwable ex) {
+            future.completeExceptionally(ex instanceof CompletionException
+                    ? ex : new CompletionException(ex));
+        }
+    }
+
+    /**
+     * Lets at most the given number of tasks run at once. With virtual
+     * threads each task gets its own thread and the excess ones park on the
+     * semaphore; without them the thread count itself is the bound. The
+     * bound is read before each task, and the permits and threads follow
+     * it when it changes.
+     */
+    private static final class BoundedExecutor implements Executor {
+
+        private final IntSupplier bound;
+        private final ExecutorService threads;
+        private final ResizableSemaphore permits;
+
+        // Bound the permits and threads are currently sized for
+        private int limit;
+
+        // Set on the threads running a task, which hold a permit
+        private final ThreadLocal<Boolean> holdsPermit = ThreadLocal.withInitial(() -> false);
+
+        BoundedExecutor(IntSupplier bound) {
+            this.bound = bound;
+            this.limit = Math.max(1, bound.getAsInt());
+            this.threads = newExecutor(limit);
+            this.permits = new ResizableSemaphore(limit);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            if (holdsPermit.get()) {
+                command.run();
+                return;
+            }
+
+            resize(Math.max(1, bound.getAsInt()));
+            threads.execute(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    if (command instanceof Call) {
+                        ((Call<?>) command).fail(ex);
+                    } else {
+                        // Its future cannot be reached; run it rather than
+                        // leave it pending forever
+                        command.run();
+                    }
+                    return;
+                }
+                holdsPermit.set(true);
+                try {
+                    command.run();
+                } finally {
+                    holdsPermit.set(false);
+                    permits.release();
+                }
+            });
+        }
+
+        // Tasks already running keep their permits: a smaller bound only
+        // takes effect as they finish
+        private synchronized void resize(int newLimit) {
+            if (newLimit == limit) {
+                return;
+            }
+
+            if (newLimit > limit) {
+                permits.release(newLimit - limit);
+            } else {
+                permits.reduce(limit - newLimit);
+            }
+
+            if (threads instanceof ThreadPoolExecutor) {
+                ThreadPoolExecutor pool = (ThreadPoolExecutor) threads;
+                // The core size may never exceed the maximum size
+                if (newLimit > limit) {
+                    pool.setMaximumPoolSize(newLimit);
+                    pool.setCorePoolSize(newLimit);
+                } else {
+                    pool.setCorePoolSize(newLimit);
+                    pool.setMaximumPoolSize(newLimit);
+                }
+            }
+
+            limit = newLimit;
+        }
+
+        // Executors.newVirtualThreadPerTaskExecutor() is looked up by
+        // reflection so the build keeps targeting Java 11
+        private static ExecutorService newExecutor(int maxConcurrency) {
+            try {
+                return (ExecutorService) Executors.class
+                        .getMethod("newVirtualThreadPerTaskExecutor")
+                        .invoke(null);
+            } catch (ReflectiveOperationException ex) {
+                AtomicInteger count = new AtomicInteger();
+                return Executors.newFixedThreadPool(maxConcurrency, r -> {
+                    Thread thread = new Thread(r, "async-dao-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+        }
+    }
+
+    /**
+     * Fair semaphore whose permits can also be taken away
+     */
+    private static final class ResizableSemaphore extends Semaphore {
+
+        private static final long serialVersionUID = 1L;
+
+        ResizableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        void reduce(int reduction) {
+            reducePermits(reduction);
+        }
+    }
+}
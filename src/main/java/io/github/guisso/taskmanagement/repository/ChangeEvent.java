@@ -0,0 +1,123 @@
+/*
+ * CC BY-NC-SA 4.0
+ *
+ * Copyright 2022 Luis Guisso &lt;luis dot guisso at ifnmg dot edu dot br&gt;.
+ *
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ *
+ * You are free to:
+ *   Share - copy and redistribute the material in any medium or format
+ *   Adapt - remix, transform, and build upon the material
+ *
+ * Under the following terms:
+ *   Attribution - You must give appropriate credit, provide 
+ *   a link to the license, and indicate if changes were made.
+ *   You may do so in any reasonable manner, but not in any 
+ *   way that suggests the licensor endorses you or your use.
+ *   NonCommercial - You may not use the material for commercial purposes.
+ *   ShareAlike - If you remix, transform, or build upon the 
+ *   material, you must distribute your contributions under 
+ *   the same license as the original.
+ *   No additional restrictions - You may not apply legal 
+ *   terms or technological measures that legally restrict 
+ *   others from doing anything the license permits.
+ *
+ * Notices:
+ *   You do not have to comply with the license for elements 
+ *   of the material in the public domain or where your use 
+ *   is permitted by an applicable exception or limitation.
+ *   No warranties are given. The license may not give you 
+ *   all of the permissions necessary for your intended use. 
+ *   For example, other rights such as publicity, privacy, 
+ *   or moral rights may limit how you use the material.
+ */
+package io.github.guisso.taskmanagement.repository;
+
+import io.github.guisso.taskmanagement.entity.Entity;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Class ChangeEvent
+ *
+ * One committed write published by the {@link ChangeFeed}
+ *
+ * @version 0.1, 2026-10-17
+ */
+public final class ChangeEvent {
+
+    /**
+     * Kinds of write
+     */
+    public enum Type {
+        INSERT,
+        UPDATE,
+        DELETE,
+        TRASH,
+        RESTORE
+    }
+
+    private final long sequence;
+    private final Instant timestamp;
+    private final Type type;
+    private final Class<? extends Entity> entityType;
+    private final Long id;
+    private final Map<String, Object> changes;
+
+    ChangeEvent(long sequence, Type type, Class<? extends Entity> entityType,
+            Long id, Map<String, Object> changes) {
+        this.sequence = sequence;
+        this.timestamp = Instant.now();
+        this.type = type;
+        this.entityType = entityType;
+        this.id = id;
+        this.changes = changes;
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Getters">
+    /**
+     * Gets the position of the event in the feed. Sequences have no gaps,
+     * so a missing one tells a subscriber that it fell behind and events
+     * were dropped.
+     *
+     * @return Sequence number, starting at 1
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Class<? extends Entity> getEntityType() {
+        return entityType;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the new value of each column written: every column on insert,
+     * the changed ones on update when the loaded state was tracked, or all
+     * of them when it was not. Empty for deletes and trash changes, and for
+     * DAOs without dirty checking.
+     *
+     * @return New values by column name
+     */
+    public Map<String, Object> getChanges() {
+        return changes;
+    }
+    //</editor-fold>
+
+    @Override
+    public String toString() {
+        return "ChangeEvent{" + sequence + ", " + type + ' ' + entityType.getSimpleName()
+                + '#' + id + (changes.isEmpty() ? "" : ", " + changes) + '}';
+    }
+}
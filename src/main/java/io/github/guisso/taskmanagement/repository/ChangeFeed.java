@@ -0,0 +1,377 @@
+/*
+ * CC BY-NC-SA 4.0
+ *
+ * Copyright 2022 Luis Guisso &lt;luis dot guisso at ifnmg dot edu dot br&gt;.
+ *
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ *
+ * You are free to:
+ *   Share - copy and redistribute the material in any medium or format
+ *   Adapt - remix, transform, and build upon the material
+ *
+ * Under the following terms:
+ *   Attribution - You must give appropriate credit, provide 
+ *   a link to the license, and indicate if changes were made.
+ *   You may do so in any reasonable manner, but not in any 
+ *   way that suggests the licensor endorses you or your use.
+ *   NonCommercial - You may not use the material for commercial purposes.
+ *   ShareAlike - If you remix, transform, or build upon the 
+ *   material, you must distribute your contributions under 
+ *   the same license as the original.
+ *   No additional restrictions - You may not apply legal 
+ *   terms or technological measures that legally restrict 
+ *   others from doing anything the license permits.
+ *
+ * Notices:
+ *   You do not have to comply with the license for elements 
+ *   of the material in the public domain or where your use 
+ *   is permitted by an applicable exception or limitation.
+ *   No warranties are given. The license may not give you 
+ *   all of the permissions necessary for your intended use. 
+ *   For example, other rights such as publicity, privacy, 
+ *   or moral rights may limit how you use the material.
+ */
+package io.github.guisso.taskmanagement.repository;
+
+import io.github.guisso.taskmanagement.entity.Entity;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Class ChangeFeed
+ *
+ * In-process feed of the writes made through the DAOs: inserts, updates,
+ * deletes and trash changes, in the order they were committed, so
+ * downstream consumers can follow changes instead of polling
+ * {@link Dao#findAll()}.
+ *
+ * <pre>
+ * ChangeFeed.subscribe(subscriber);                          // one event per onNext
+ * ChangeFeed.subscribeBatches(batcher, 500, Duration.ofMillis(200)); // lists of events
+ * </pre>
+ *
+ * Subscribers follow the {@link Flow} protocol: each one gets events only
+ * as it requests them, from its own buffer of {@link #BUFFER_CAPACITY}
+ * events, on a thread of the feed. Writes made inside a {@link UnitOfWork}
+ * are published only if it commits. While nobody is subscribed, writes
+ * publish nothing and build no events.
+ *
+ * Writers never wait for a slow subscriber longer than the maximum wait
+ * (zero by default), and only the writer delivering to a full buffer
+ * waits; the others leave their events queued for it. When a buffer is
+ * still full after the wait, the event is dropped for that subscriber and
+ * counted in {@link #getDroppedCount()}; the subscriber sees a gap in
+ * {@link ChangeEvent#getSequence()} and should rescan what it follows.
+ * Values of the columns masked by {@link SqlLog#setMaskedColumns(String...)}
+ * are replaced by {@link SqlLog#MASK}.
+ *
+ * @version 0.1, 2026-10-17
+ */
+public final class ChangeFeed {
+
+    // Events buffered per subscriber, rounded up to a power of two
+    public static final int BUFFER_CAPACITY = 8_192;
+
+    private static final AtomicInteger THREADS = new AtomicInteger();
+
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "change-feed-" + THREADS.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Flushes the partial batches of batching subscribers
+    private static final ScheduledExecutorService FLUSHER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "change-feed-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final List<Channel> CHANNELS = new CopyOnWriteArrayList<>();
+
+    private static final LongAdder DROPPED = new LongAdder();
+
+    // Guards the sequence so events enter every channel in sequence order
+    private static final Object LOCK = new Object();
+
+    private static long sequence;
+
+    private static volatile long maxWaitMillis;
+
+    /**
+     * Subscribes to every event
+     *
+     * @param subscriber Subscriber, which requests events as it handles them
+     */
+    public static void subscribe(Flow.Subscriber<? super ChangeEvent> subscriber) {
+        Channel channel = new Channel();
+        channel.publisher.subscribe(subscriber);
+        CHANNELS.add(channel);
+    }
+
+    /**
+     * Subscribes to lists of events. A list is delivered once it holds
+     * {@code maxBatchSize} events, or after {@code maxDelay} if it holds
+     * fewer; a subscriber that stops requesting lists stops the feed for
+     * itself once its buffers are full.
+     *
+     * @param subscriber Subscriber of the lists
+     * @param maxBatchSize Largest list delivered
+     * @param maxDelay Longest an event waits for its list to fill
+     */
+    public static void subscribeBatches(Flow.Subscriber<? super List<ChangeEvent>> subscriber,
+            int maxBatchSize, Duration maxDelay) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        if (maxDelay.isNegative() || maxDelay.isZero()) {
+            throw new IllegalArgumentException("Batch delay must be positive");
+        }
+
+        Batcher batcher = new Batcher(maxBatchSize, maxDelay.toMillis());
+        batcher.downstream.subscribe(subscriber);
+        subscribe(batcher);
+    }
+
+    public static boolean hasSubscribers() {
+        for (Channel channel : CHANNELS) {
+            if (channel.publisher.hasSubscribers()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static int getSubscriberCount() {
+        int count = 0;
+        for (Channel channel : CHANNELS) {
+            count += channel.publisher.getNumberOfSubscribers();
+        }
+        return count;
+    }
+
+    /**
+     * Gets how many deliveries were dropped because a subscriber's buffer
+     * was full
+     *
+     * @return Dropped deliveries since startup
+     */
+    public static long getDroppedCount() {
+        return DROPPED.sum();
+    }
+
+    /**
+     * Sets the longest a writer waits for room in a full subscriber buffer
+     * before dropping the event for that subscriber
+     *
+     * @param maxWait Maximum wait (zero to never wait)
+     */
+    public static void setMaxWait(Duration maxWait) {
+        if (maxWait.isNegative()) {
+            throw new IllegalArgumentException("Maximum wait must not be negative");
+        }
+        maxWaitMillis = maxWait.toMillis();
+    }
+
+    public static Duration getMaxWait() {
+        return Duration.ofMillis(maxWaitMillis);
+    }
+
+    /**
+     * Publishes a write, numbering it after the previous one
+     *
+     * @param type Kind of write
+     * @param entityType Entity class of the DAO that wrote it
+     * @param id Record ID
+     * @param changes New values by column name
+     */
+    static void publish(ChangeEvent.Type type, Class<? extends Entity> entityType,
+            Long id, Map<String, Object> changes) {
+        // Only numbering and queueing happen under the lock; delivering,
+        // which may wait for a full buffer, happens outside it
+        synchronized (LOCK) {
+            ChangeEvent event = new ChangeEvent(++sequence, type, entityType, id, changes);
+            for (Channel channel : CHANNELS) {
+                channel.inbox.add(event);
+            }
+        }
+
+        for (Channel channel : CHANNELS) {
+            channel.deliver();
+        }
+    }
+
+    // Replaces the values of masked columns
+    static Object maskIfNeeded(String column, Object value) {
+        return value != null && SqlLog.isMasked(column) ? SqlLog.MASK : value;
+    }
+
+    /**
+     * Queue and buffer of one subscriber. Events wait in the inbox, in
+     * sequence order, until a writer moves them to the buffer; one writer
+     * at a time does it, and the others return at once.
+     */
+    private static final class Channel {
+
+        private final SubmissionPublisher<ChangeEvent> publisher
+                = new SubmissionPublisher<>(EXECUTOR, BUFFER_CAPACITY);
+        private final Queue<ChangeEvent> inbox = new ConcurrentLinkedQueue<>();
+        private final ReentrantLock delivering = new ReentrantLock();
+
+        private void deliver() {
+            // Checked again after unlocking, for events queued by writers
+            // that found the lock taken just before it was released
+            while (!inbox.isEmpty() && delivering.tryLock()) {
+                try {
+                    ChangeEvent event;
+                    while ((event = inbox.poll()) != null) {
+                        publisher.offer(event, maxWaitMillis, TimeUnit.MILLISECONDS, (subscriber, dropped) -> {
+                            DROPPED.increment();
+                            return false;
+                        });
+                    }
+                } finally {
+                    delivering.unlock();
+                }
+            }
+
+            if (!publisher.hasSubscribers()) {
+                CHANNELS.remove(this);
+                inbox.clear();
+            }
+        }
+    }
+
+    /**
+     * Groups the events of one batching subscriber into lists, published
+     * through a publisher of its own so the lists get the same demand and
+     * buffering rules as single events
+     */
+    private static final class Batcher implements Flow.Subscriber<ChangeEvent> {
+
+        private final SubmissionPublisher<List<ChangeEvent>> downstream
+                = new SubmissionPublisher<>(EXECUTOR, BUFFER_CAPACITY);
+        private final int maxBatchSize;
+        private final long maxDelayMillis;
+
+        // Held while a list is built or handed over, so lists leave in order
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private List<ChangeEvent> batch = new ArrayList<>();
+        private Flow.Subscription upstream;
+        private ScheduledFuture<?> flushes;
+
+        private Batcher(int maxBatchSize, long maxDelayMillis) {
+            this.maxBatchSize = maxBatchSize;
+            this.maxDelayMillis = Math.max(1L, maxDelayMillis);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            upstream = subscription;
+            flushes = FLUSHER.scheduleWithFixedDelay(this::flushLate,
+                    maxDelayMillis, maxDelayMillis, TimeUnit.MILLISECONDS);
+            subscription.request(maxBatchSize);
+        }
+
+        @Override
+        public void onNext(ChangeEvent event) {
+            lock.lock();
+            try {
+                batch.add(event);
+                if (batch.size() >= maxBatchSize) {
+                    // Blocks this subscriber's thread while its lists are
+                    // not consumed, which fills its buffer of events
+                    downstream.submit(batch);
+                    batch = new ArrayList<>();
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (!downstream.hasSubscribers()) {
+                close();
+                return;
+            }
+            upstream.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            flushes.cancel(false);
+            lock.lock();
+            try {
+                flush();
+            } finally {
+                lock.unlock();
+            }
+            downstream.closeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            flushes.cancel(false);
+            lock.lock();
+            try {
+                flush();
+            } finally {
+                lock.unlock();
+            }
+            downstream.close();
+        }
+
+        // Delivers a partial batch that waited long enough. The flusher is
+        // shared by every batching subscriber, so it never blocks: it skips
+        // a subscriber busy handing over a list, and keeps the batch for
+        // the next run when the subscriber's buffer is full.
+        private void flushLate() {
+            if (!downstream.hasSubscribers()) {
+                close();
+                return;
+            }
+            if (!lock.tryLock()) {
+                return;
+            }
+            try {
+                if (!batch.isEmpty() && downstream.offer(batch, (subscriber, late) -> false) >= 0) {
+                    batch = new ArrayList<>();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void flush() {
+            if (!batch.isEmpty()) {
+                downstream.submit(batch);
+                batch = new ArrayList<>();
+            }
+        }
+
+        // The subscriber cancelled its subscription to the lists
+        private void close() {
+            flushes.cancel(false);
+            upstream.cancel();
+            downstream.close();
+        }
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Private constructor">
+    private ChangeFeed() {
+    }
+    //</editor-fold>
+}
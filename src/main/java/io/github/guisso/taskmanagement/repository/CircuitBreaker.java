@@ -0,0 +1,160 @@
+/*
+ * CC BY-NC-SA 4.0
+ *
+ * Copyright 2022 Luis Guisso &lt;luis dot guisso at ifnmg dot edu dot br&gt;.
+ *
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ *
+ * You are free to:
+ *   Share - copy and redistribute the material in any medium or format
+ *   Adapt - remix, transform, and build upon the material
+ *
+ * Under the following terms:
+ *   Attribution - You must give appropriate credit, provide 
+ *   a link to the license, and indicate if changes were made.
+ *   You may do so in any reasonable manner, but not in any 
+ *   way that suggests the licensor endorses you or your use.
+ *   NonCommercial - You may not use the material for commercial purposes.
+ *   ShareAlike - If you remix, transform, or build upon the 
+ *   material, you must distribute your contributions under 
+ *   the same license as the original.
+ *   No additional restrictions - You may not apply legal 
+ *   terms or technological measures that legally restrict 
+ *   others from doing anything the license permits.
+ *
+ * Notices:
+ *   You do not have to comply with the license for elements 
+ *   of the material in the public domain or where your use 
+ *   is permitted by an applicable exception or limitation.
+ *   No warranties are given. The license may not give you 
+ *   all of the permissions necessary for your intended use. 
+ *   For example, other rights such as publicity, privacy, 
+ *   or moral rights may limit how you use the material.
+ */
+package io.github.guisso.taskmanagement.repository;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Class CircuitBreaker
+ *
+ * Guards the opening of physical connections by a {@link ConnectionPool}.
+ * After {@code failureThreshold} consecutive failures it opens: every
+ * attempt fails fast with {@link CircuitOpenException} instead of waiting
+ * on a database that is down. Once the open delay has passed a single
+ * trial attempt is let through (half-open); success closes the circuit,
+ * failure opens it again for twice as long, up to {@code maxOpenMillis}.
+ * Each delay is jittered between half and all of its length, so processes
+ * that lost the database together do not reconnect together.
+ *
+ * @version 0.1, 2026-10-17
+ */
+public class CircuitBreaker {
+
+    private static final Logger LOGGER = Logger.getLogger(CircuitBreaker.class.getName());
+
+    /**
+     * Circuit states
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long initialOpenMillis;
+    private final long maxOpenMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private int consecutiveOpenings;
+    private long retryAt;
+
+    /**
+     * Creates a closed circuit breaker
+     *
+     * @param failureThreshold Consecutive failures that open the circuit
+     * @param initialOpenMillis First open delay in milliseconds
+     * @param maxOpenMillis Longest open delay in milliseconds
+     */
+    public CircuitBreaker(int failureThreshold, long initialOpenMillis, long maxOpenMillis) {
+        if (failureThreshold < 1 || initialOpenMillis < 0 || maxOpenMillis < initialOpenMillis) {
+            throw new IllegalArgumentException("Invalid circuit breaker settings");
+        }
+        this.failureThreshold = failureThreshold;
+        this.initialOpenMillis = initialOpenMillis;
+        this.maxOpenMillis = maxOpenMillis;
+    }
+
+    /**
+     * Asks permission for an attempt
+     *
+     * @throws CircuitOpenException If the circuit is open, or half-open
+     * with its trial attempt still running
+     */
+    public synchronized void acquire() throws CircuitOpenException {
+        if (state == State.CLOSED) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (state == State.OPEN && now >= retryAt) {
+            state = State.HALF_OPEN;
+            return;
+        }
+
+        throw new CircuitOpenException(state == State.OPEN ? retryAt - now : 0L);
+    }
+
+    /**
+     * Reports a successful attempt, closing the circuit
+     */
+    public synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            LOGGER.log(Level.INFO, "Database reachable again, circuit closed");
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        consecutiveOpenings = 0;
+    }
+
+    /**
+     * Reports a failed attempt
+     */
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            long delay = Math.min(maxOpenMillis,
+                    initialOpenMillis << Math.min(consecutiveOpenings, 30));
+            long jittered = delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+            consecutiveOpenings++;
+            retryAt = System.currentTimeMillis() + jittered;
+            if (state != State.OPEN) {
+                LOGGER.log(Level.WARNING, "Database unreachable after " + consecutiveFailures
+                        + " attempts, circuit open for " + jittered + " ms");
+            }
+            state = State.OPEN;
+        }
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Getters">
+    public synchronized State getState() {
+        return state;
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public long getInitialOpenMillis() {
+        return initialOpenMillis;
+    }
+
+    public long getMaxOpenMillis() {
+        return maxOpenMillis;
+    }
+    //</editor-fold>
+}
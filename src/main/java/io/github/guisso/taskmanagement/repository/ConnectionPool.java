@@ -0,0 +1,467 @@
+/*
+ * CC BY-NC-SA 4.0
+ *
+ * Copyright 2022 Luis Guisso &lt;luis dot guisso at ifnmg dot edu dot br&gt;.
+ *
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ *
+ * You are free to:
+ *   Share - copy and redistribute the material in any medium or format
+ *   Adapt - remix, transform, and build upon the material
+ *
+ * Under the following terms:
+ *   Attribution - You must give appropriate credit, provide 
+ *   a link to the license, and indicate if changes were made.
+ *   You may do so in any reasonable manner, but not in any 
+ *   way that suggests the licensor endorses you or your use.
+ *   NonCommercial - You may not use the material for commercial purposes.
+ *   ShareAlike - If you remix, transform, or build upon the 
+ *   material, you must distribute your contributions under 
+ *   the same license as the original.
+ *   No additional restrictions - You may not apply legal 
+ *   terms or technological measures that legally restrict 
+ *   others from doing anything the license permits.
+ *
+ * Notices:
+ *   You do not have to comply with the license for elements 
+ *   of the material in the public domain or where your use 
+ *   is permitted by an applicable exception or limitation.
+ *   No warranties are given. The license may not give you 
+ *   all of the permissions necessary for your intended use. 
+ *   For example, other rights such as publicity, privacy, 
+ *   or moral rights may limit how you use the material.
+ */
+package io.github.guisso.taskmanagement.repository;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Class ConnectionPool
+ *
+ * Bounded pool of physical JDBC connections. Borrowed connections are
+ * handed out as proxies whose {@code close()} returns the physical
+ * connection to the pool instead of closing it, so DAO code keeps using
+ * plain try-with-resources.
+ *
+ * <ul>
+ * <li>at most {@code maxSize} connections exist at any time; callers wait
+ * up to {@code borrowTimeoutMillis} for one to be released;</li>
+ * <li>connections idle for more than {@value #VALIDATION_BYPASS_MILLIS} ms
+ * are validated with {@link Connection#isValid(int)} on borrow, so a busy
+ * pool does not pay a ping per borrow; idle connections are evicted after
+ * {@code idleTimeoutMillis}, never going below {@code minSize};</li>
+ * <li>connections held longer than {@code leakDetectionThresholdMillis} are
+ * reported once with the stack trace of the borrower;</li>
+ * <li>each physical connection keeps a {@link StatementCache} of up to
+ * {@code statementCacheSize} prepared statements (0 disables it);</li>
+ * <li>new physical connections are opened through a {@link CircuitBreaker},
+ * so while the database is down borrowers fail fast instead of all
+ * reconnecting at once.</li>
+ * </ul>
+ *
+ * @version 0.1, 2026-10-17
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(ConnectionPool.class.getName());
+
+    // Seconds granted to Connection.isValid() when validating on borrow
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    /**
+     * Idle time below which a connection is lent without validation
+     */
+    public static final long VALIDATION_BYPASS_MILLIS = 500L;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int minSize;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long leakDetectionThresholdMillis;
+    private final int statementCacheSize;
+    private final CircuitBreaker circuitBreaker;
+
+    // Counters shared by the statement caches of all connections
+    private final StatementCache.Statistics statementCacheStatistics = new StatementCache.Statistics();
+
+    // Idle connections, most recently used first
+    private final BlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+
+    // Connections currently lent to callers
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+
+    // One permit per connection that may still be borrowed
+    private final Semaphore permits;
+
+    private final ScheduledExecutorService housekeeper;
+
+    private volatile boolean closed;
+
+    public ConnectionPool(String url, String user, String password,
+            int minSize, int maxSize, long borrowTimeoutMillis,
+            long idleTimeoutMillis, long leakDetectionThresholdMillis,
+            int statementCacheSize) {
+        this(url, user, password, minSize, maxSize, borrowTimeoutMillis,
+                idleTimeoutMillis, leakDetectionThresholdMillis, statementCacheSize,
+                new CircuitBreaker(3, 500L, 30_000L));
+    }
+
+    public ConnectionPool(String url, String user, String password,
+            int minSize, int maxSize, long borrowTimeoutMillis,
+            long idleTimeoutMillis, long leakDetectionThresholdMillis,
+            int statementCacheSize, CircuitBreaker circuitBreaker) {
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.leakDetectionThresholdMillis = leakDetectionThresholdMillis;
+        this.statementCacheSize = statementCacheSize;
+        this.circuitBreaker = circuitBreaker;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "connection-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long period = Math.max(1_000L, Math.min(idleTimeoutMillis, 30_000L) / 2);
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection, waiting at most the configured borrow timeout
+     *
+     * @return Connection that must be closed to return it to the pool
+     * @throws SQLException If the pool is exhausted or no connection could
+     * be opened; {@link CircuitOpenException} while the database is known
+     * to be down
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException("Timed out after " + borrowTimeoutMillis
+                        + " ms waiting for a connection (max " + maxSize + ")");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", ex);
+        }
+
+        try {
+            PooledConnection pooled = takeValidIdle();
+            if (pooled == null) {
+                pooled = new PooledConnection(open());
+            }
+            pooled.lend();
+            borrowed.add(pooled);
+            return pooled.handle();
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+    }
+
+    /**
+     * Closes every idle connection and refuses further borrows. Connections
+     * still borrowed are closed as soon as they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            pooled.closePhysical();
+        }
+    }
+
+    // <editor-fold defaultstate="collapsed" desc="Statistics">
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getBorrowedCount() {
+        return borrowed.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public StatementCache.Statistics getStatementCacheStatistics() {
+        return statementCacheStatistics;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+    // </editor-fold>
+
+    private PooledConnection takeValidIdle() {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            // Just returned in working order: not worth a round trip
+            if (System.currentTimeMillis() - pooled.lastReturnedAt < VALIDATION_BYPASS_MILLIS
+                    || pooled.isValid()) {
+                return pooled;
+            }
+            LOGGER.log(Level.FINE, "Discarding invalid pooled connection");
+            pooled.closePhysical();
+        }
+        return null;
+    }
+
+    private Connection open() throws SQLException {
+        circuitBreaker.acquire();
+
+        LOGGER.log(Level.FINE, "Opening new database connection");
+        try {
+            Connection connection = DriverManager.getConnection(url, user, password);
+            circuitBreaker.onSuccess();
+            return connection;
+        } catch (SQLException | RuntimeException ex) {
+            circuitBreaker.onFailure();
+            throw ex;
+        }
+    }
+
+    private void release(PooledConnection pooled) {
+        borrowed.remove(pooled);
+
+        try {
+            if (closed || !pooled.reset()) {
+                pooled.closePhysical();
+            } else {
+                idle.offerFirst(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void housekeep() {
+        try {
+            long now = System.currentTimeMillis();
+
+            // Evict connections idle for too long, oldest first
+            for (PooledConnection pooled : idle.toArray(new PooledConnection[0])) {
+                if (idle.size() + borrowed.size() <= minSize) {
+                    break;
+                }
+                if (now - pooled.lastReturnedAt > idleTimeoutMillis && idle.remove(pooled)) {
+                    pooled.closePhysical();
+                }
+            }
+
+            // Keep the minimum number of connections warm
+            while (!closed && idle.size() + borrowed.size() < minSize && permits.tryAcquire()) {
+                try {
+                    idle.offerLast(new PooledConnection(open()));
+                } finally {
+                    permits.release();
+                }
+            }
+
+            // Report connections that were never returned
+            if (leakDetectionThresholdMillis > 0) {
+                for (PooledConnection pooled : borrowed) {
+                    if (!pooled.leakReported && now - pooled.borrowedAt > leakDetectionThresholdMillis) {
+                        pooled.leakReported = true;
+                        LOGGER.log(Level.WARNING, "Connection leak detected: borrowed "
+                                + (now - pooled.borrowedAt) + " ms ago and not returned", pooled.borrowTrace);
+                    }
+                }
+            }
+        } catch (CircuitOpenException ex) {
+            // The breaker already reported the outage
+        } catch (SQLException | RuntimeException ex) {
+            LOGGER.log(Level.WARNING, "Connection pool housekeeping failed", ex);
+        }
+    }
+
+    /**
+     * Physical connection plus the bookkeeping needed while it is lent
+     */
+    private final class PooledConnection {
+
+        private final Connection physical;
+        private final StatementCache statementCache;
+        private volatile long borrowedAt;
+        private volatile long lastReturnedAt = System.currentTimeMillis();
+        private volatile Throwable borrowTrace;
+        private volatile boolean leakReported;
+
+        private PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statementCache = statementCacheSize > 0
+                    ? new StatementCache(physical, statementCacheSize, statementCacheStatistics)
+                    : null;
+        }
+
+        private void lend() {
+            borrowedAt = System.currentTimeMillis();
+            leakReported = false;
+            borrowTrace = leakDetectionThresholdMillis > 0
+                    ? new Throwable("Connection borrowed here")
+                    : null;
+        }
+
+        private Connection handle() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new Handle(this));
+        }
+
+        private boolean isValid() {
+            try {
+                return physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException ex) {
+                return false;
+            }
+        }
+
+        // Restores the state expected by the next borrower
+        private boolean reset() {
+            try {
+                if (physical.isClosed()) {
+                    return false;
+                }
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                if (physical.isReadOnly()) {
+                    physical.setReadOnly(false);
+                }
+                physical.clearWarnings();
+                lastReturnedAt = System.currentTimeMillis();
+                borrowTrace = null;
+                return true;
+            } catch (SQLException ex) {
+                LOGGER.log(Level.FINE, "Discarding connection that could not be reset", ex);
+                return false;
+            }
+        }
+
+        private void closePhysical() {
+            try {
+                if (statementCache != null) {
+                    statementCache.clear();
+                }
+                physical.close();
+            } catch (SQLException ex) {
+                LOGGER.log(Level.FINE, "Error closing pooled connection", ex);
+            }
+        }
+    }
+
+    /**
+     * Connection handed to a single borrower; closing it returns the
+     * physical connection to the pool exactly once
+     */
+    private final class Handle implements InvocationHandler {
+
+        private PooledConnection pooled;
+
+        private Handle(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (pooled != null) {
+                        PooledConnection returning = pooled;
+                        pooled = null;
+                        release(returning);
+                    }
+                    return null;
+                case "isClosed":
+                    return pooled == null || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled" + (pooled == null ? "[closed]" : pooled.physical.toString());
+                default:
+                    break;
+            }
+
+            if (pooled == null) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+
+            if (method.getName().equals("prepareStatement")) {
+                return SqlLog.wrap(prepare(method, args), (String) args[0]);
+            }
+            if (method.getName().equals("prepareCall")) {
+                return SqlLog.wrap((CallableStatement) invokePhysical(method, args), (String) args[0]);
+            }
+
+            return invokePhysical(method, args);
+        }
+
+        private PreparedStatement prepare(Method method, Object[] args) throws Throwable {
+            if (pooled.statementCache != null) {
+                if (args.length == 1) {
+                    return pooled.statementCache.prepare((String) args[0], Statement.NO_GENERATED_KEYS);
+                }
+                if (args.length == 2 && args[1] instanceof Integer) {
+                    return pooled.statementCache.prepare((String) args[0], (Integer) args[1]);
+                }
+            }
+            return (PreparedStatement) invokePhysical(method, args);
+        }
+
+        private Object invokePhysical(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+    }
+}
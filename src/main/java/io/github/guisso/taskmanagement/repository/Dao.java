@@ -34,124 +34,1342 @@
 package io.github.guisso.taskmanagement.repository;
 
 import io.github.guisso.taskmanagement.entity.Entity;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Class Dao
  *
+ * Each operation borrows its own connection from {@link DbConnection} and
+ * returns it when done, so a DAO instance can be shared between threads.
+ * Read-only queries borrow through {@link DbConnection#getReadConnection()},
+ * so they can be served by read replicas. Executed statements are reported through {@link SqlLog} when enabled.
+ *
+ * Every statement runs with a query timeout: {@link #getQueryTimeout()}
+ * by default, or less when the caller opened a shorter {@link Deadline},
+ * which can also cancel it from another thread.
+ *
  * @param <T> Entity data type
  */
 public abstract class Dao<T extends Entity> implements IDao<T> {
 
-    public static final String DB = "gestaotarefas";
+    public static final String DB = "gestaotarefas";
+
+    private static final Logger LOGGER = Logger.getLogger(Dao.class.getName());
+
+    // Default number of rows sent per executeBatch() call
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    // Rows fetched per round trip by streamAll() on drivers that page cursors
+    public static final int STREAM_FETCH_SIZE = 1_000;
+
+    // Largest IN list sent by findByIds(); chunks are padded to powers of two
+    public static final int MAX_IN_LIST_SIZE = 128;
+
+    // Query shapes whose compiled SQL is kept per DAO
+    public static final int MAX_QUERY_SHAPES = 256;
+
+    // Longest a single statement may run unless a Deadline allows less
+    public static final Duration DEFAULT_QUERY_TIMEOUT = Duration.ofSeconds(30);
+
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    private volatile Duration queryTimeout = DEFAULT_QUERY_TIMEOUT;
+
+    // Entity class handled by the concrete DAO, used to find its cache region
+    private final Class<T> entityType = resolveEntityType();
+
+    // findByIds() statements by IN list size
+    private final Map<Integer, String> findByIdsStatements = new ConcurrentHashMap<>();
+
+    // Call counts and latencies, shared by the DAOs of the same entity class
+    private final DaoMetrics metrics = DaoMetrics.of(entityType);
+
+    // Topmost entity class of the hierarchy; joined subtypes share its IDs,
+    // so invalidating from it reaches every cache region holding the row
+    private final Class<? extends Entity> rootType = resolveRootType();
+
+    // Partial UPDATE statements by bit mask of their dirty columns
+    private final Map<Long, String> dirtyUpdateStatements = new ConcurrentHashMap<>();
+
+    // Projection statements by column list and kind of query
+    private final Map<String, String> projectionStatements = new ConcurrentHashMap<>();
+
+    // Query statements by query shape
+    private final Map<List<Object>, String> queryStatements = new ConcurrentHashMap<>();
+
+    @Override
+    public Long saveOrUpdate(T e) {
+        long start = System.nanoTime();
+        Long id = 0L;
+        
+        boolean inserted = e.getId() == null || e.getId() <= 0;
+        if (inserted) {
+            // Insert a new record
+            try (Connection connection = DbConnection.getConnection();
+                    PreparedStatement preparedStatement = withTimeout(connection.prepareStatement(
+                            getSaveStatment(), Statement.RETURN_GENERATED_KEYS))) {
+                
+                composeSaveOrUpdateStatement(preparedStatement, e);
+                preparedStatement.executeUpdate();
+                
+                try (ResultSet resultSet = preparedStatement.getGeneratedKeys()) {
+                    if (resultSet.next()) {
+                        id = resultSet.getLong(1);
+                        e.setId(id);
+                    }
+                }
+                
+            } catch (Exception ex) {
+                reportWriteFailure(ex);
+            }
+        } else {
+            // Update existing record, only the changed columns when the
+            // loaded state is known, and not at all if none changed
+            boolean[] dirty = findDirtyColumns(e);
+            if (dirty != null && countDirty(dirty) == 0) {
+                metrics.record(DaoMetrics.Operation.SAVE_OR_UPDATE, start, 0, false);
+                return e.getId();
+            }
+
+            try (Connection connection = DbConnection.getConnection();
+                    PreparedStatement preparedStatement = withTimeout(connection.prepareStatement(
+                            dirty == null ? getUpdateStatment() : dirtyUpdateStatement(dirty)))) {
+                
+                if (dirty == null) {
+                    composeSaveOrUpdateStatement(preparedStatement, e);
+                } else {
+                    composeUpdateStatement(preparedStatement, e, dirty);
+                }
+                preparedStatement.executeUpdate();
+                
+                id = e.getId();
+                
+            } catch (Exception ex) {
+                reportWriteFailure(ex);
+            }
+        }
+
+        if (id > 0) {
+            afterSave(e, id, inserted);
+        }
+
+        metrics.record(DaoMetrics.Operation.SAVE_OR_UPDATE, start, id > 0 ? 1 : 0, id <= 0);
+        return id;
+    }
+
+    @Override
+    public void delete(Long id) {
+        long start = System.nanoTime();
+        int rows = executeUpdateById(getDeleteStatement(), id);
+        if (rows >= 0) {
+            onDeleted(id);
+        }
+        metrics.record(DaoMetrics.Operation.DELETE, start, rows, rows < 0);
+    }
+
+    @Override
+    public T findById(Long id) {
+        long start = System.nanoTime();
+        T found = null;
+        boolean failed = false;
+
+        Session session = Session.current();
+        if (session != null) {
+            found = session.find(this, id);
+        }
+
+        EntityCache<T> cache = cacheRegion();
+        long ticket = 0L;
+        if (found == null && cache != null) {
+            found = fromCache(cache, id);
+            if (found != null) {
+                found = attach(found);
+            }
+            ticket = cache.loadTicket();
+        }
+
+        if (found == null) {
+            try {
+                found = load(id, cache, ticket);
+            } catch (Exception ex) {
+                reportReadFailure(ex);
+                failed = true;
+            }
+        }
+
+        metrics.record(DaoMetrics.Operation.FIND_BY_ID, start, found == null ? 0 : 1, failed);
+        return found;
+    }
+
+    // Reads one record from the database and offers it to the cache region
+    private T load(Long id, EntityCache<T> cache, long ticket) throws SQLException {
+        long start = System.nanoTime();
+
+        T e = readWithRetry(connection -> {
+            try (PreparedStatement preparedStatement = withTimeout(connection.prepareStatement(
+                    getFindByIdStatment()))) {
+
+                preparedStatement.setLong(1, id);
+
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    if (!resultSet.next()) {
+                        return null;
+                    }
+                    return UnitOfWork.current() == null
+                            ? track(extractObject(resultSet))
+                            : extractObject(resultSet);
+                }
+            }
+        });
+
+        if (e == null) {
+            return null;
+        }
+        if (cache != null) {
+            toCache(cache, e, ticket, System.nanoTime() - start);
+        }
+        return attach(e);
+    }
+
+    /**
+     * Gets many records by ID with chunked {@code WHERE id IN (...)} queries
+     * instead of one query per ID. IDs already held by the current
+     * {@link Session} or by the {@link SecondLevelCache} are not queried.
+     *
+     * Chunks hold up to {@link #MAX_IN_LIST_SIZE} IDs and are padded to the
+     * next power of two by repeating their last ID, so only a handful of
+     * distinct statements reach the statement cache.
+     *
+     * @param ids Record IDs
+     * @return Records found, by ID, in the order the IDs were given
+     */
+    @Override
+    public Map<Long, T> findByIds(Collection<Long> ids) {
+        long operationStart = System.nanoTime();
+        boolean failed = false;
+        Map<Long, T> found = new LinkedHashMap<>();
+        List<Long> missing = new ArrayList<>();
+
+        Session session = Session.current();
+        EntityCache<T> cache = cacheRegion();
+
+        for (Long id : new LinkedHashSet<>(ids)) {
+            T held = session == null ? null : session.find(this, id);
+            if (held == null && cache != null) {
+                held = fromCache(cache, id);
+            }
+            if (held != null) {
+                found.put(id, attach(held));
+            } else {
+                found.put(id, null);
+                missing.add(id);
+            }
+        }
+
+        long ticket = cache == null ? 0L : cache.loadTicket();
+
+        for (int from = 0; from < missing.size(); from += MAX_IN_LIST_SIZE) {
+            List<Long> chunk = missing.subList(from, Math.min(from + MAX_IN_LIST_SIZE, missing.size()));
+            int size = Math.min(Integer.highestOneBit(chunk.size() * 2 - 1), MAX_IN_LIST_SIZE);
+            long start = System.nanoTime();
+
+            try {
+                List<T> loaded = readWithRetry(connection -> {
+                    try (PreparedStatement preparedStatement = withTimeout(connection.prepareStatement(
+                            findByIdsStatements.computeIfAbsent(size, this::getFindByIdsStatement)))) {
+
+                        for (int i = 0; i < size; i++) {
+                            preparedStatement.setLong(i + 1, chunk.get(Math.min(i, chunk.size() - 1)));
+                        }
+
+                        try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                            return extractObjects(resultSet);
+                        }
+                    }
+                });
+
+                long loadNanos = (System.nanoTime() - start) / chunk.size();
+                for (T e : loaded) {
+                    if (cache != null) {
+                        toCache(cache, e, ticket, loadNanos);
+                    }
+                    found.put(e.getId(), attach(e));
+                }
+
+            } catch (Exception ex) {
+                reportReadFailure(ex);
+                failed = true;
+            }
+        }
+
+        found.values().removeIf(e -> e == null);
+        metrics.record(DaoMetrics.Operation.FIND_BY_IDS, operationStart, found.size(), failed);
+        return found;
+    }
+
+    @Override
+    public List<T> findAll() {
+        long start = System.nanoTime();
+        List<T> found = null;
+        boolean failed = false;
+
+        try {
+            found = attachAll(readWithRetry(connection -> {
+                try (PreparedStatement preparedStatement = withTimeout(connection.prepareStatement(
+                        getFindAllStatment()));
+                        ResultSet resultSet = preparedStatement.executeQuery()) {
+                    return extractObjects(resultSet);
+                }
+            }));
+        } catch (Exception ex) {
+            reportReadFailure(ex);
+            failed = true;
+        }
+
+        metrics.record(DaoMetrics.Operation.FIND_ALL, start, found == null ? 0 : found.size(), failed);
+        return found;
+    }
+
+    /**
+     * Starts a query over the records of this DAO, filtered and ordered by
+     * the typed columns of the entity mapping
+     *
+     * @return New query
+     */
+    public Query<T> query() {
+        return new Query<>(this);
+    }
+
+    // Runs a query built by query()
+    List<T> find(Query<T> query) {
+        String sql = queryStatement(query);
+        long start = System.nanoTime();
+        List<T> found = null;
+        boolean failed = false;
+
+        try {
+            found = attachAll(readWithRetry(connection -> {
+                try (PreparedStatement preparedStatement = withTimeout(connection.prepareStatement(sql))) {
+                    query.bind(preparedStatement);
+
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        return extractObjects(resultSet);
+                    }
+                }
+            }));
+        } catch (Exception ex) {
+            reportReadFailure(ex);
+            failed = true;
+        }
+
+        metrics.record(DaoMetrics.Operation.FIND_BY_QUERY, start, found == null ? 0 : found.size(), failed);
+        return found;
+    }
+
+    /**
+     * Gets the given columns of every record, without building entities
+     *
+     * @param <R> Projected type
+     * @param projection Columns and how to map them
+     * @return Projected records, or null if the query failed
+     */
+    public <R> List<R> findAll(Projection<R> projection) {
+        String sql = projectionStatement(projection, false);
+        long start = System.nanoTime();
+        List<R> found = null;
+        boolean failed = false;
+
+        try {
+            found = readWithRetry(connection -> {
+                try (PreparedStatement preparedStatement = withTimeout(connection.prepareStatement(sql));
+                        ResultSet resultSet = preparedStatement.executeQuery()) {
+                    List<R> rows = new ArrayList<>();
+                    while (resultSet.next()) {
+                        rows.add(projection.map(resultSet));
+                    }
+                    return rows;
+                }
+            });
+        } catch (Exception ex) {
+            reportReadFailure(ex);
+            failed = true;
+        }
+
+        metrics.record(DaoMetrics.Operation.FIND_ALL_PROJECTED, start, found == null ? 0 : found.size(), failed);
+        return found;
+    }
+
+    /**
+     * Streams every record through a forward-only, read-only cursor, mapping
+     * rows only as they are consumed, so memory use does not depend on the
+     * table size. On MySQL/MariaDB the driver streams rows one by one;
+     * other drivers fetch {@link #STREAM_FETCH_SIZE} rows per round trip.
+     *
+     * The stream holds a borrowed connection until it is exhausted or
+     * closed, so use it in a try-with-resources block.
+     *
+     * @return Lazily populated stream of all records
+     */
+    @Override
+    public Stream<T> streamAll() {
+        long start = System.nanoTime();
+        Connection connection = null;
+        PreparedStatement preparedStatement = null;
+
+        try {
+            connection = DbConnection.getReadConnection();
+            preparedStatement = withTimeout(connection.prepareStatement(getFindAllStatment(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY));
+            preparedStatement.setFetchSize(isMySql(connection) ? Integer.MIN_VALUE : STREAM_FETCH_SIZE);
+
+            ResultSet resultSet = preparedStatement.executeQuery();
+
+            ResultSetSpliterator<T> spliterator = new ResultSetSpliterator<>(
+                    resultSet, trackingRowMapper(resultSet), preparedStatement, connection);
+            return StreamSupport.stream(spliterator, false).onClose(() -> {
+                spliterator.close();
+                metrics.record(DaoMetrics.Operation.STREAM_ALL, start, spliterator.getRows(), false);
+            });
+
+        } catch (Exception ex) {
+            reportReadFailure(ex);
+            closeQuietly(preparedStatement);
+            closeQuietly(connection);
+        }
+
+        metrics.record(DaoMetrics.Operation.STREAM_ALL, start, 0, true);
+        return Stream.empty();
+    }
+
+    /**
+     * Gets the records after the given ID, in ID order, using keyset
+     * pagination ({@code WHERE id > ? ORDER BY id LIMIT ?})
+     *
+     * @param afterId ID of the last record already seen (null or 0 for the
+     * first page)
+     * @param limit Maximum number of records on the page
+     * @return Page of records
+     */
+    @Override
+    public Page<T> findPage(Long afterId, int limit) {
+        return findPage(DaoMetrics.Operation.FIND_PAGE, getFindPageStatement(), afterId, limit);
+    }
+
+    /**
+     * Gets the records on trash after the given ID, in ID order, using
+     * keyset pagination
+     *
+     * @param afterId ID of the last record already seen (null or 0 for the
+     * first page)
+     * @param limit Maximum number of records on the page
+     * @return Page of records
+     */
+    @Override
+    public Page<T> findPageOnTrash(Long afterId, int limit) {
+        return findPage(DaoMetrics.Operation.FIND_PAGE_ON_TRASH, getFindPageOnTrashStatement(), afterId, limit);
+    }
+
+    /**
+     * Gets the given columns of the records after the given ID, in ID
+     * order, using keyset pagination. The projection must include the
+     * {@code id} column.
+     *
+     * @param <R> Projected type
+     * @param projection Columns and how to map them
+     * @param afterId ID of the last record already seen (null or 0 for the
+     * first page)
+     * @param limit Maximum number of records on the page
+     * @return Page of projected records
+     */
+    public <R> Page<R> findPage(Projection<R> projection, Long afterId, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be at least 1");
+        }
+        int idIndex = projection.getColumns().indexOf("id") + 1;
+        if (idIndex == 0) {
+            throw new IllegalArgumentException("A paged projection must include the id column");
+        }
+
+        String sql = projectionStatement(projection, true);
+        long start = System.nanoTime();
+        boolean failed = false;
+        List<R> items = new ArrayList<>(limit + 1);
+        Long[] lastId = {afterId};
+
+        try {
+            readWithRetry(connection -> {
+                try (PreparedStatement preparedStatement = withTimeout(connection.prepareStatement(sql))) {
+
+                    preparedStatement.setLong(1, afterId == null ? 0L : afterId);
+                    // One extra row tells whether another page exists
+                    preparedStatement.setInt(2, limit + 1);
+
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        items.clear();
+                        while (resultSet.next()) {
+                            if (items.size() < limit) {
+                                lastId[0] = resultSet.getLong(idIndex);
+                            }
+                            items.add(projection.map(resultSet));
+                        }
+                        return null;
+                    }
+                }
+            });
+        } catch (Exception ex) {
+            reportReadFailure(ex);
+            failed = true;
+        }
+
+        boolean hasNext = items.size() > limit;
+        if (hasNext) {
+            items.remove(limit);
+        }
+
+        metrics.record(DaoMetrics.Operation.FIND_PAGE_PROJECTED, start, items.size(), failed);
+        return new Page<>(items, failed ? afterId : lastId[0], hasNext);
+    }
+
+    private Page<T> findPage(DaoMetrics.Operation operation, String sql, Long afterId, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be at least 1");
+        }
+
+        long start = System.nanoTime();
+        boolean failed = false;
+        List<T> items = new ArrayList<>(limit + 1);
+
+        try {
+            items.addAll(attachAll(readWithRetry(connection -> {
+                try (PreparedStatement preparedStatement = withTimeout(connection.prepareStatement(sql))) {
+
+                    preparedStatement.setLong(1, afterId == null ? 0L : afterId);
+                    // One extra row tells whether another page exists
+                    preparedStatement.setInt(2, limit + 1);
+
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        return extractObjects(resultSet);
+                    }
+                }
+            })));
+        } catch (Exception ex) {
+            reportReadFailure(ex);
+            failed = true;
+        }
+
+        boolean hasNext = items.size() > limit;
+        if (hasNext) {
+            items.remove(limit);
+        }
+
+        metrics.record(operation, start, items.size(), failed);
+
+        Long nextAfterId = items.isEmpty() ? afterId : items.get(items.size() - 1).getId();
+        return new Page<>(items, nextAfterId, hasNext);
+    }
+
+    @Override
+    public void moveToTrash(T e) {
+        long start = System.nanoTime();
+        int rows = executeUpdateById(getMoveToTrashStatement(), e.getId());
+        if (rows >= 0) {
+            e.setExcluded(true);
+            onTrashChanged(e.getId(), true);
+        }
+        metrics.record(DaoMetrics.Operation.MOVE_TO_TRASH, start, rows, rows < 0);
+    }
+
+    @Override
+    public void restoreFromTrash(Long id) {
+        long start = System.nanoTime();
+        int rows = executeUpdateById(getRestoreFromTrashStatement(), id);
+        if (rows >= 0) {
+            onTrashChanged(id, false);
+        }
+        metrics.record(DaoMetrics.Operation.RESTORE_FROM_TRASH, start, rows, rows < 0);
+    }
+
+    @Override
+    public List<T> findAllOnTrash() {
+        long start = System.nanoTime();
+        List<T> found = null;
+        boolean failed = false;
+
+        try {
+            found = attachAll(readWithRetry(connection -> {
+                try (PreparedStatement preparedStatement = withTimeout(connection.prepareStatement(
+                        getFindAllOnTrashStatement()));
+                        ResultSet resultSet = preparedStatement.executeQuery()) {
+                    return extractObjects(resultSet);
+                }
+            }));
+        } catch (Exception ex) {
+            reportReadFailure(ex);
+            failed = true;
+        }
+
+        if (found == null) {
+            found = new ArrayList<>();
+        }
+
+        metrics.record(DaoMetrics.Operation.FIND_ALL_ON_TRASH, start, found.size(), failed);
+        return found;
+    }
+
+    /**
+     * Inserts all entities with JDBC batches of {@link #getBatchSize()} rows
+     * in a single transaction, writing the generated IDs back onto the
+     * entities in iteration order.
+     *
+     * Compared with calling {@link #saveOrUpdate(Entity)} per row, a batch
+     * costs one round trip and the whole call one commit, instead of one
+     * round trip and one commit per row. When
+     * {@link DbConnection#setRewriteBatchedStatements(boolean)} is enabled,
+     * MySQL Connector/J also rewrites each batch into a single multi-row
+     * INSERT, which usually gives about an order of magnitude more insert
+     * throughput than the single-row path on a networked server.
+     *
+     * @param entities New entities (without ID)
+     * @return Generated IDs in iteration order; empty if the batch failed
+     */
+    @Override
+    public List<Long> saveAll(Collection<T> entities) {
+        long start = System.nanoTime();
+        boolean failed = false;
+        List<Long> ids = new ArrayList<>(entities.size());
+        List<Long> originalIds = currentIds(entities);
+
+        try (Connection connection = DbConnection.getConnection()) {
+            runInTransaction(connection, c -> insertBatches(c, entities, ids));
+        } catch (Exception ex) {
+            reportWriteFailure(ex);
+            restoreIds(entities, originalIds);
+            ids.clear();
+            failed = true;
+        }
+
+        if (!failed) {
+            for (T e : entities) {
+                if (e.getId() != null && e.getId() > 0) {
+                    afterSave(e, e.getId(), true);
+                }
+            }
+        }
+
+        metrics.record(DaoMetrics.Operation.SAVE_ALL, start, ids.size(), failed);
+        return ids;
+    }
+
+    /**
+     * Updates all entities with JDBC batches in a single transaction
+     *
+     * @param entities Persisted entities (with ID)
+     */
+    @Override
+    public void updateAll(Collection<T> entities) {
+        long start = System.nanoTime();
+
+        try (Connection connection = DbConnection.getConnection()) {
+            runInTransaction(connection, c -> updateBatches(c, entities));
+        } catch (Exception ex) {
+            reportWriteFailure(ex);
+            metrics.record(DaoMetrics.Operation.UPDATE_ALL, start, 0, true);
+            return;
+        }
+
+        for (T e : entities) {
+            afterSave(e, e.getId(), false);
+        }
+
+        metrics.record(DaoMetrics.Operation.UPDATE_ALL, start, entities.size(), false);
+    }
+
+    /**
+     * Inserts the new entities and updates the persisted ones in a single
+     * transaction, both through JDBC batches
+     *
+     * @param entities Entities to save or update
+     * @return IDs of all entities in iteration order; empty if it failed
+     */
+    @Override
+    public List<Long> saveOrUpdateAll(Collection<T> entities) {
+        long start = System.nanoTime();
+        List<T> inserts = new ArrayList<>();
+        List<T> updates = new ArrayList<>();
+
+        for (T e : entities) {
+            if (e.getId() == null || e.getId() <= 0) {
+                inserts.add(e);
+            } else {
+                updates.add(e);
+            }
+        }
+
+        List<Long> originalIds = currentIds(inserts);
+
+        try (Connection connection = DbConnection.getConnection()) {
+            runInTransaction(connection, c -> {
+                insertBatches(c, inserts, new ArrayList<>(inserts.size()));
+                updateBatches(c, updates);
+            });
+        } catch (Exception ex) {
+            reportWriteFailure(ex);
+            restoreIds(inserts, originalIds);
+            metrics.record(DaoMetrics.Operation.SAVE_OR_UPDATE_ALL, start, 0, true);
+            return new ArrayList<>();
+        }
+
+        for (T e : inserts) {
+            afterSave(e, e.getId(), true);
+        }
+        for (T e : updates) {
+            afterSave(e, e.getId(), false);
+        }
+
+        List<Long> ids = new ArrayList<>(entities.size());
+        for (T e : entities) {
+            ids.add(e.getId());
+        }
+
+        metrics.record(DaoMetrics.Operation.SAVE_OR_UPDATE_ALL, start, ids.size(), false);
+        return ids;
+    }
+
+    /**
+     * Deletes all records with JDBC batches in a single transaction
+     *
+     * @param ids Record IDs
+     */
+    @Override
+    public void deleteAll(Collection<Long> ids) {
+        long start = System.nanoTime();
+
+        try (Connection connection = DbConnection.getConnection()) {
+            runInTransaction(connection, c -> {
+                try (PreparedStatement preparedStatement = withTimeout(c.prepareStatement(getDeleteStatement()))) {
+                    int pending = 0;
+                    for (Long id : ids) {
+                        preparedStatement.setLong(1, id);
+                        preparedStatement.addBatch();
+                        if (++pending == batchSize) {
+                            preparedStatement.executeBatch();
+                            pending = 0;
+                        }
+                    }
+                    if (pending > 0) {
+                        preparedStatement.executeBatch();
+                    }
+                }
+            });
+        } catch (Exception ex) {
+            reportWriteFailure(ex);
+            metrics.record(DaoMetrics.Operation.DELETE_ALL, start, 0, true);
+            return;
+        }
+
+        for (Long id : ids) {
+            onDeleted(id);
+        }
+
+        metrics.record(DaoMetrics.Operation.DELETE_ALL, start, ids.size(), false);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets how many rows are sent per executeBatch() call
+     *
+     * @param batchSize Rows per batch (at least 1)
+     */
+    public void setBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        this.batchSize = batchSize;
+    }
+
+    public Duration getQueryTimeout() {
+        return queryTimeout;
+    }
+
+    /**
+     * Sets the longest any statement of this DAO may run when no shorter
+     * {@link Deadline} is open
+     *
+     * @param queryTimeout Timeout per statement (zero for none)
+     */
+    public void setQueryTimeout(Duration queryTimeout) {
+        if (queryTimeout.isNegative()) {
+            throw new IllegalArgumentException("Query timeout must not be negative");
+        }
+        this.queryTimeout = queryTimeout;
+    }
+
+    /**
+     * Applies the query timeout of this DAO, or of the current
+     * {@link Deadline} if shorter, to a statement just prepared
+     *
+     * @param <S> Statement type
+     * @param statement Prepared statement
+     * @return The same statement
+     * @throws SQLException If the current deadline has already expired
+     */
+    protected <S extends Statement> S withTimeout(S statement) throws SQLException {
+        return Deadline.apply(statement, queryTimeout);
+    }
+
+    /**
+     * Read-only query run by {@link #readWithRetry(SqlQuery)}
+     *
+     * @param <R> Result type
+     */
+    @FunctionalInterface
+    protected interface SqlQuery<R> {
+
+        R run(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Runs a read-only query on a connection from
+     * {@link DbConnection#getReadConnection()}, retried on a new connection
+     * after a transient failure as {@link DbConnection#getRetryPolicy()}
+     * allows. Inside a {@link UnitOfWork} it runs once, since the
+     * transaction is lost with its connection, and no attempt starts once
+     * the current {@link Deadline} has expired.
+     *
+     * @param <R> Result type
+     * @param query Idempotent query
+     * @return Query result
+     * @throws SQLException If the last attempt failed
+     */
+    protected <R> R readWithRetry(SqlQuery<R> query) throws SQLException {
+        RetryPolicy.SqlCall<R> call = () -> {
+            Deadline deadline = Deadline.current();
+            if (deadline != null) {
+                deadline.check();
+            }
+            try (Connection connection = DbConnection.getReadConnection()) {
+                return query.run(connection);
+            }
+        };
+        return UnitOfWork.current() == null
+                ? DbConnection.getRetryPolicy().call(call)
+                : call.call();
+    }
+
+    /**
+     * Unit of work run by {@link #runInTransaction(Connection, SqlWork)}
+     */
+    @FunctionalInterface
+    protected interface SqlWork {
+
+        void run(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Runs the work in a transaction on the given connection, committing on
+     * success and rolling back on failure. If the connection is already in a
+     * transaction the work joins it and the caller stays in charge of
+     * committing.
+     *
+     * @param connection Borrowed connection
+     * @param work Statements to run
+     * @throws SQLException If the work or the commit fails
+     */
+    protected void runInTransaction(Connection connection, SqlWork work) throws SQLException {
+        if (!connection.getAutoCommit()) {
+            work.run(connection);
+            return;
+        }
+
+        connection.setAutoCommit(false);
+        try {
+            work.run(connection);
+            connection.commit();
+        } catch (SQLException | RuntimeException ex) {
+            connection.rollback();
+            throw ex;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private void insertBatches(Connection connection, Collection<T> entities, List<Long> ids) throws SQLException {
+        try (PreparedStatement preparedStatement = withTimeout(connection.prepareStatement(
+                getSaveStatment(), Statement.RETURN_GENERATED_KEYS))) {
+
+            List<T> chunk = new ArrayList<>(Math.min(batchSize, entities.size()));
+            for (T e : entities) {
+                composeInsertStatement(preparedStatement, e);
+                preparedStatement.addBatch();
+                chunk.add(e);
+
+                if (chunk.size() == batchSize) {
+                    insertBatch(preparedStatement, chunk, ids);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                insertBatch(preparedStatement, chunk, ids);
+            }
+        }
+    }
+
+    private void insertBatch(PreparedStatement preparedStatement, List<T> chunk, List<Long> ids) throws SQLException {
+        preparedStatement.executeBatch();
 
-    @Override
-    public Long saveOrUpdate(T e) {
-        Long id = 0L;
-        
-        if (e.getId() == null || e.getId() <= 0) {
-            // Insert a new record
-            try (PreparedStatement preparedStatement = DbConnection.getConnection().prepareStatement(
-                    getSaveStatment(), Statement.RETURN_GENERATED_KEYS)) {
-                
-                composeSaveOrUpdateStatement(preparedStatement, e);
-                System.out.println(">> SQL: " + preparedStatement);
-                preparedStatement.executeUpdate();
-                
-                ResultSet resultSet = preparedStatement.getGeneratedKeys();
+        // Keys come back in the same order the rows were added
+        try (ResultSet resultSet = preparedStatement.getGeneratedKeys()) {
+            for (T e : chunk) {
                 if (resultSet.next()) {
-                    id = resultSet.getLong(1);
+                    e.setId(resultSet.getLong(1));
                 }
-                
-            } catch (Exception ex) {
-                System.out.println(">> " + ex);
+                ids.add(e.getId());
             }
-        } else {
-            // Update existing record
-            try (PreparedStatement preparedStatement = DbConnection.getConnection().prepareStatement(
-                    getUpdateStatment())) {
-                
+        }
+
+        chunk.clear();
+    }
+
+    private List<Long> currentIds(Collection<T> entities) {
+        List<Long> ids = new ArrayList<>(entities.size());
+        for (T e : entities) {
+            ids.add(e.getId());
+        }
+        return ids;
+    }
+
+    // The generated keys are written onto the entities before the commit,
+    // so a rolled back insert must take them back
+    private void restoreIds(Collection<T> entities, List<Long> originalIds) {
+        Iterator<Long> id = originalIds.iterator();
+        for (T e : entities) {
+            e.setId(id.next());
+        }
+    }
+
+    private void updateBatches(Connection connection, Collection<T> entities) throws SQLException {
+        try (PreparedStatement preparedStatement = withTimeout(connection.prepareStatement(getUpdateStatment()))) {
+            int pending = 0;
+            for (T e : entities) {
                 composeSaveOrUpdateStatement(preparedStatement, e);
-                System.out.println(">> SQL: " + preparedStatement);
-                preparedStatement.executeUpdate();
-                
-                id = e.getId();
-                
-            } catch (Exception ex) {
-                System.out.println("Exception: " + ex);
+                preparedStatement.addBatch();
+                if (++pending == batchSize) {
+                    preparedStatement.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                preparedStatement.executeBatch();
             }
         }
+    }
 
-        return id;
+    private static boolean isMySql(Connection connection) throws SQLException {
+        String url = connection.getMetaData().getURL();
+        return url != null && (url.startsWith("jdbc:mysql:") || url.startsWith("jdbc:mariadb:"));
     }
 
-    @Override
-    public void delete(Long id) {
-        try (PreparedStatement preparedStatement = DbConnection.getConnection().prepareStatement(
-                getDeleteStatement())) {
+    private static void closeQuietly(AutoCloseable resource) {
+        if (resource != null) {
+            try {
+                resource.close();
+            } catch (Exception ex) {
+                LOGGER.log(Level.FINE, "Error closing streamed resource", ex);
+            }
+        }
+    }
+
+    /**
+     * Runs a single-row statement whose only parameter is the record ID
+     *
+     * @param sql SQL statement with one ID parameter
+     * @param id Record ID
+     * @return Rows affected, or -1 if the statement failed
+     */
+    protected int executeUpdateById(String sql, Long id) {
+        try (Connection connection = DbConnection.getConnection();
+                PreparedStatement preparedStatement = withTimeout(connection.prepareStatement(sql))) {
             
             preparedStatement.setLong(1, id);
-            System.out.println(">> SQL: " + preparedStatement);
-            preparedStatement.executeUpdate();
+            return preparedStatement.executeUpdate();
             
         } catch (Exception ex) {
-            System.out.println("Exception: " + ex);
+            reportWriteFailure(ex);
         }
+
+        return -1;
     }
 
-    @Override
-    public T findById(Long id) {
-        try (PreparedStatement preparedStatement = DbConnection.getConnection().prepareStatement(
-                getFindByIdStatment())) {
-            
-            preparedStatement.setLong(1, id);
-            System.out.println(">> SQL: " + preparedStatement);
-            ResultSet resultSet = preparedStatement.executeQuery();
-            
-            if (resultSet.next()) {
-                return extractObject(resultSet);
+    /**
+     * Runs {@link #onSaved(Entity, Long)} after an entity was inserted or
+     * updated, and publishes the write on the {@link ChangeFeed}. DAOs that
+     * write outside the methods of this class call it instead of onSaved.
+     *
+     * @param e Entity written
+     * @param id Record ID
+     * @param inserted True if the record was inserted
+     */
+    protected final void afterSave(T e, Long id, boolean inserted) {
+        // Read before onSaved replaces the loaded state
+        Map<String, Object> changes = isPublished() ? changes(e, inserted) : null;
+
+        onSaved(e, id);
+
+        if (changes != null) {
+            publish(inserted ? ChangeEvent.Type.INSERT : ChangeEvent.Type.UPDATE, id, changes);
+        }
+    }
+
+    /**
+     * Called after an entity was inserted or updated
+     *
+     * @param e Entity written
+     * @param id Record ID
+     */
+    protected void onSaved(T e, Long id) {
+        invalidate(id);
+
+        // A unit may still roll back, so its writes leave the state unknown
+        e.setLoadedState(UnitOfWork.current() == null ? captureState(e) : null);
+
+        Session session = Session.current();
+        if (session != null) {
+            session.put(this, id, e);
+        }
+    }
+
+    /**
+     * Called after a record was deleted
+     *
+     * @param id Record ID
+     */
+    protected void onDeleted(Long id) {
+        invalidate(id);
+        if (isPublished()) {
+            publish(ChangeEvent.Type.DELETE, id, Map.of());
+        }
+
+        Session session = Session.current();
+        if (session != null) {
+            session.remove(this, id);
+        }
+    }
+
+    /**
+     * Called after a record was moved to or restored from trash
+     *
+     * @param id Record ID
+     * @param trashed True if the record is now on trash
+     */
+    protected void onTrashChanged(Long id, boolean trashed) {
+        invalidate(id);
+        if (isPublished()) {
+            publish(trashed ? ChangeEvent.Type.TRASH : ChangeEvent.Type.RESTORE, id, Map.of());
+        }
+
+        Session session = Session.current();
+        if (session != null) {
+            T held = session.find(this, id);
+            if (held != null) {
+                held.setExcluded(trashed);
             }
-            
-        } catch (Exception ex) {
-            System.out.println("Exception: " + ex);
         }
+    }
 
-        return null;
+    private boolean isPublished() {
+        return isPublishingChanges() && ChangeFeed.hasSubscribers();
     }
 
-    @Override
-    public List<T> findAll() {
-        try (PreparedStatement preparedStatement = DbConnection.getConnection().prepareStatement(
-                getFindAllStatment())) {
-            
-            System.out.println(">> SQL: " + preparedStatement);
-            ResultSet resultSet = preparedStatement.executeQuery();
-            
-            return extractObjects(resultSet);
-            
-        } catch (Exception ex) {
-            System.out.println("Exception: " + ex);
+    // Column values written, by column name: all of them on insert or when
+    // the loaded state is unknown, otherwise the dirty ones only
+    private Map<String, Object> changes(T e, boolean inserted) {
+        List<String> columns = getStateColumns();
+        Object[] current = columns.isEmpty() ? null : captureState(e);
+        if (current == null || current.length != columns.size()) {
+            return Map.of();
         }
 
-        return null;
+        Object[] loaded = inserted ? null : e.getLoadedState();
+        if (loaded != null && loaded.length != current.length) {
+            loaded = null;
+        }
+
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (int i = 0; i < current.length; i++) {
+            if (loaded == null || !Objects.equals(loaded[i], current[i])) {
+                changes.put(columns.get(i), ChangeFeed.maskIfNeeded(columns.get(i), current[i]));
+            }
+        }
+        return Collections.unmodifiableMap(changes);
     }
 
-    @Override
-public List<T> extractObjects(ResultSet resultSet) throws SQLException {
-    List<T> objects = new ArrayList<>();
+    // Writes of a unit of work are announced only if it commits
+    private void publish(ChangeEvent.Type type, Long id, Map<String, Object> changes) {
+        UnitOfWork unit = UnitOfWork.current();
+        if (unit == null) {
+            ChangeFeed.publish(type, entityType, id, changes);
+        } else {
+            unit.afterCommit(() -> ChangeFeed.publish(type, entityType, id, changes));
+        }
+    }
 
-    while (resultSet.next()) {
-        objects.add(extractObject(resultSet)); // Chama o método abstrato que pode lançar SQLException
+    // Fresh copy of a cached entity, so callers never share the cached
+    // instance and their changes stay private until saved
+    private T fromCache(EntityCache<T> cache, Long id) {
+        T cached = cache.get(id);
+        T e = cached == null ? null : copy(cached);
+        return e == null ? null : track(e);
     }
 
-    return objects.isEmpty() ? null : objects;
-}
+    // Caches a copy of a loaded entity, kept by the cache alone
+    private void toCache(EntityCache<T> cache, T e, long ticket, long loadNanos) {
+        T snapshot = copy(e);
+        if (snapshot != null) {
+            cache.put(e.getId(), snapshot, ticket, loadNanos);
+        }
+    }
+
+    // Second-level cache region, bypassed inside a unit of work so rows it
+    // has not committed yet are never shared with other threads
+    private EntityCache<T> cacheRegion() {
+        return UnitOfWork.current() == null ? SecondLevelCache.region(entityType) : null;
+    }
+
+    // Evicts a record from the second-level cache; inside a unit of work it
+    // is evicted again at completion, so no uncommitted or stale row that
+    // was cached meanwhile survives the commit or rollback
+    private void invalidate(Long id) {
+        SecondLevelCache.invalidate(rootType, id);
+
+        UnitOfWork unit = UnitOfWork.current();
+        if (unit != null) {
+            unit.afterCompletion(() -> SecondLevelCache.invalidate(rootType, id));
+        }
+    }
+
+    /**
+     * Logs a failed read
+     *
+     * @param ex Failure
+     */
+    protected static void reportReadFailure(Exception ex) {
+        LOGGER.log(Level.SEVERE, "Database read failed", ex);
+    }
+
+    /**
+     * Logs a failed write; inside a unit of work it also dooms the unit
+     *
+     * @param ex Failure
+     */
+    protected static void reportWriteFailure(Exception ex) {
+        LOGGER.log(Level.SEVERE, "Database write failed", ex);
+
+        UnitOfWork unit = UnitOfWork.current();
+        if (unit != null) {
+            unit.failed(ex);
+        }
+    }
+
+    /**
+     * Gets the metrics recorded for the entity class of this DAO
+     *
+     * @return DAO metrics
+     */
+    public DaoMetrics getMetrics() {
+        return metrics;
+    }
 
+    /**
+     * Gets the entity class handled by this DAO
+     *
+     * @return Entity class
+     */
+    public Class<T> getEntityType() {
+        return entityType;
+    }
+
+    // Reads T from the Dao<T> declaration of the concrete subclass
+    @SuppressWarnings("unchecked")
+    private Class<T> resolveEntityType() {
+        for (Class<?> type = getClass(); type != Dao.class; type = type.getSuperclass()) {
+            Type superType = type.getGenericSuperclass();
+            if (superType instanceof ParameterizedType
+                    && ((ParameterizedType) superType).getRawType() == Dao.class) {
+                Type argument = ((ParameterizedType) superType).getActualTypeArguments()[0];
+                if (argument instanceof Class) {
+                    return (Class<T>) argument;
+                }
+            }
+        }
+        return (Class<T>) Entity.class;
+    }
+
+    // Remembers the column values of a loaded entity for dirty checking
+    private T track(T e) {
+        if (e != null) {
+            e.setLoadedState(captureState(e));
+        }
+        return e;
+    }
+
+    // Mapper of a query result; outside a unit of work it also tracks the
+    // loaded state, inside one the rows may still roll back
+    private RowMapper<T> trackingRowMapper(ResultSet resultSet) throws SQLException {
+        RowMapper<T> mapper = createRowMapper(resultSet);
+        return UnitOfWork.current() == null ? rs -> track(mapper.map(rs)) : mapper;
+    }
+
+    /**
+     * Finds the columns of {@link #captureState(Entity)} whose value differs
+     * from the loaded state
+     *
+     * @param e Entity
+     * @return Flag per column, or null if the loaded state is unknown
+     */
+    protected boolean[] findDirtyColumns(T e) {
+        Object[] loaded = e.getLoadedState();
+        if (loaded == null) {
+            return null;
+        }
+
+        Object[] current = captureState(e);
+        if (current == null || current.length != loaded.length) {
+            return null;
+        }
+
+        boolean[] dirty = new boolean[current.length];
+        for (int i = 0; i < current.length; i++) {
+            dirty[i] = !Objects.equals(loaded[i], current[i]);
+        }
+        return dirty;
+    }
+
+    private static int countDirty(boolean[] dirty) {
+        int count = 0;
+        for (boolean column : dirty) {
+            if (column) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private String dirtyUpdateStatement(boolean[] dirty) {
+        if (dirty.length >= Long.SIZE) {
+            return getUpdateStatement(dirty);
+        }
+
+        long mask = 0;
+        for (int i = 0; i < dirty.length; i++) {
+            if (dirty[i]) {
+                mask |= 1L << i;
+            }
+        }
+        return dirtyUpdateStatements.computeIfAbsent(mask, m -> getUpdateStatement(dirty));
+    }
+
+    private String queryStatement(Query<T> query) {
+        List<Object> shape = query.shape();
+        String sql = queryStatements.get(shape);
+        if (sql == null) {
+            sql = query.compile(query.isOnTrash() ? getFindAllOnTrashStatement() : getFindAllStatment());
+            // Shapes built from varying IN list sizes are not worth keeping
+            if (queryStatements.size() < MAX_QUERY_SHAPES) {
+                queryStatements.put(shape, sql);
+            }
+        }
+        return sql;
+    }
+
+    private String projectionStatement(Projection<?> projection, boolean page) {
+        String key = (page ? "page:" : "all:") + String.join(",", projection.getColumns());
+        String sql = projectionStatements.get(key);
+        if (sql == null) {
+            sql = getProjectionStatement(projection.getColumns(), page);
+            projectionStatements.put(key, sql);
+        }
+        return sql;
+    }
+
+    private Class<? extends Entity> resolveRootType() {
+        Class<? extends Entity> root = entityType;
+        while (root.getSuperclass() != Entity.class && Entity.class.isAssignableFrom(root.getSuperclass())) {
+            root = root.getSuperclass().asSubclass(Entity.class);
+        }
+        return root;
+    }
+
+    // Swaps a freshly loaded entity for the instance the session already holds
+    private T attach(T e) {
+        Session session = Session.current();
+        return session == null || e == null ? e : session.attach(this, e.getId(), e);
+    }
+
+    private List<T> attachAll(List<T> entities) {
+        if (entities != null && Session.current() != null) {
+            entities.replaceAll(this::attach);
+        }
+        return entities;
+    }
+
+    /**
+     * Maps every remaining row of the ResultSet. An empty ResultSet gives
+     * an empty list: the finders return null only when the query failed.
+     *
+     * @param resultSet ResultSet obtained from the database query.
+     * @return Extracted entities, possibly empty.
+     * @throws SQLException If a row cannot be read
+     */
+    @Override
+    public List<T> extractObjects(ResultSet resultSet) throws SQLException {
+        List<T> objects = new ArrayList<>();
+        RowMapper<T> mapper = trackingRowMapper(resultSet);
+
+        while (resultSet.next()) {
+            objects.add(mapper.map(resultSet)); // Colunas resolvidas uma vez por ResultSet
+        }
+
+        return objects;
+    }
+
+    /**
+     * Creates the mapper used to read every row of the given ResultSet.
+     * Subclasses override it to resolve column indexes once per ResultSet
+     * and then read each row by index, instead of looking up every column
+     * by label on every row. The default maps rows with
+     * {@link #extractObject(ResultSet)}.
+     *
+     * @param resultSet ResultSet whose rows will be mapped
+     * @return Row mapper bound to the columns of the ResultSet
+     * @throws SQLException If the ResultSet metadata cannot be read
+     */
+    @Override
+    public RowMapper<T> createRowMapper(ResultSet resultSet) throws SQLException {
+        return this::extractObject;
+    }
 
     /**
      * Abstract method to be implemented by subclasses to extract a single entity from the ResultSet.
@@ -198,12 +1416,73 @@ public List<T> extractObjects(ResultSet resultSet) throws SQLException {
 
     /**
      * Abstract method to be implemented by subclasses to get the find all SQL statement.
+     * Like the pages, projections and queries, it leaves out the records on
+     * trash, and it ends with its WHERE clause so {@link Query} conditions
+     * can follow it.
      *
-     * @return SQL statement for finding all records.
+     * @return SQL statement for finding all records not on trash.
      */
     @Override
     public abstract String getFindAllStatment();
 
+    /**
+     * Abstract method to be implemented by subclasses to get the find by
+     * many IDs SQL statement, built from {@link #placeholders(int)}.
+     *
+     * @param count Number of ID parameters in the IN list
+     * @return SQL statement for finding records by a list of IDs.
+     */
+    @Override
+    public abstract String getFindByIdsStatement(int count);
+
+    /**
+     * Builds the parameter list of an IN clause
+     *
+     * @param count Number of parameters
+     * @return Placeholders such as {@code ?, ?, ?}
+     */
+    protected static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder(count * 3);
+        for (int i = 0; i < count; i++) {
+            sb.append(i == 0 ? "?" : ", ?");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Abstract method to be implemented by subclasses to get the keyset
+     * pagination SQL statement, with the parameters {@code afterId} and
+     * {@code limit}, ordered by ID.
+     *
+     * @return SQL statement for finding one page of records.
+     */
+    @Override
+    public abstract String getFindPageStatement();
+
+    /**
+     * Abstract method to be implemented by subclasses to get the keyset
+     * pagination SQL statement for records on trash.
+     *
+     * @return SQL statement for finding one page of records on trash.
+     */
+    @Override
+    public abstract String getFindPageOnTrashStatement();
+
+    /**
+     * Gets the SELECT of the given columns of the records not on trash.
+     * When paged, it takes the parameters {@code afterId} and {@code limit}
+     * and is ordered by ID, as {@link #getFindPageStatement()}. Subclasses
+     * build it from the generated mapping, which rejects unknown columns.
+     *
+     * @param columns Column names
+     * @param page True for a keyset pagination query
+     * @return SQL statement
+     * @throws UnsupportedOperationException If this DAO has no projections
+     */
+    protected String getProjectionStatement(List<String> columns, boolean page) {
+        throw new UnsupportedOperationException("Projections are not supported by " + getClass().getSimpleName());
+    }
+
     /**
      * Abstract method to be implemented by subclasses to compose the save or update SQL statement.
      *
@@ -213,4 +1492,92 @@ public List<T> extractObjects(ResultSet resultSet) throws SQLException {
      */
     @Override
     public abstract void composeSaveOrUpdateStatement(PreparedStatement preparedStatement, T e) throws SQLException;
+
+    /**
+     * Sets the parameters of the insert statement of one entity in a batch.
+     * Defaults to {@link #composeSaveOrUpdateStatement(PreparedStatement, Entity)};
+     * joined subtypes override it to bind the ID of their supertype row.
+     *
+     * @param preparedStatement Insert statement
+     * @param e Entity to insert
+     * @throws SQLException If a parameter cannot be set
+     */
+    protected void composeInsertStatement(PreparedStatement preparedStatement, T e) throws SQLException {
+        composeSaveOrUpdateStatement(preparedStatement, e);
+    }
+
+    /**
+     * Gets the column values compared by dirty checking, in the order of
+     * the update statement. {@link #saveOrUpdate(Entity)} then writes only
+     * the columns changed since the entity was loaded or saved, and skips
+     * the round trip if none changed. Defaults to null, which disables
+     * dirty checking and always updates every column.
+     *
+     * @param e Entity
+     * @return Column values, or null
+     */
+    protected Object[] captureState(T e) {
+        return null;
+    }
+
+    /**
+     * Tells whether the writes of this DAO are published on the
+     * {@link ChangeFeed}. A DAO that writes part of the rows of another
+     * returns false, so the outer DAO publishes each write once. Defaults
+     * to true.
+     *
+     * @return True if writes are published
+     */
+    protected boolean isPublishingChanges() {
+        return true;
+    }
+
+    /**
+     * Copies an entity for the {@link SecondLevelCache}, which keeps one
+     * copy and hands a new one to every reader. Defaults to null, which
+     * keeps the entities of this DAO out of the cache.
+     *
+     * @param e Entity
+     * @return Copy detached from the entity, or null
+     */
+    protected T copy(T e) {
+        return null;
+    }
+
+    /**
+     * Gets the column names of the values of {@link #captureState(Entity)},
+     * used to report changed columns on the {@link ChangeFeed}. Defaults
+     * to none, which publishes writes without their column values.
+     *
+     * @return Column names
+     */
+    protected List<String> getStateColumns() {
+        return List.of();
+    }
+
+    /**
+     * Gets the update statement of the dirty columns only, with the ID as
+     * its last parameter. Statements are cached per combination of dirty
+     * columns. Defaults to {@link #getUpdateStatment()}.
+     *
+     * @param dirty Flag per column of {@link #captureState(Entity)}
+     * @return SQL statement
+     */
+    protected String getUpdateStatement(boolean[] dirty) {
+        return getUpdateStatment();
+    }
+
+    /**
+     * Sets the parameters of {@link #getUpdateStatement(boolean[])}.
+     * Defaults to {@link #composeSaveOrUpdateStatement(PreparedStatement, Entity)}.
+     *
+     * @param preparedStatement Update statement
+     * @param e Entity to update
+     * @param dirty Flag per column of {@link #captureState(Entity)}
+     * @throws SQLException If a parameter cannot be set
+     */
+    protected void composeUpdateStatement(PreparedStatement preparedStatement, T e,
+            boolean[] dirty) throws SQLException {
+        composeSaveOrUpdateStatement(preparedStatement, e);
+    }
 }
@@ -0,0 +1,277 @@
+/*
+ * CC BY-NC-SA 4.0
+ *
+ * Copyright 2022 Luis Guisso &lt;luis dot guisso at ifnmg dot edu dot br&gt;.
+ *
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ *
+ * You are free to:
+ *   Share - copy and redistribute the material in any medium or format
+ *   Adapt - remix, transform, and build upon the material
+ *
+ * Under the following terms:
+ *   Attribution - You must give appropriate credit, provide 
+ *   a link to the license, and indicate if changes were made.
+ *   You may do so in any reasonable manner, but not in any 
+ *   way that suggests the licensor endorses you or your use.
+ *   NonCommercial - You may not use the material for commercial purposes.
+ *   ShareAlike - If you remix, transform, or build upon the 
+ *   material, you must distribute your contributions under 
+ *   the same license as the original.
+ *   No additional restrictions - You may not apply legal 
+ *   terms or technological measures that legally restrict 
+ *   others from doing anything the license permits.
+ *
+ * Notices:
+ *   You do not have to comply with the license for elements 
+ *   of the material in the public domain or where your use 
+ *   is permitted by an applicable exception or limitation.
+ *   No warranties are given. The license may not give you 
+ *   all of the permissions necessary for your intended use. 
+ *   For example, other rights such as publicity, privacy, 
+ *   or moral rights may limit how you use the material.
+ */
+package io.github.guisso.taskmanagement.repository;
+
+import io.github.guisso.taskmanagement.entity.Entity;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Class DaoMetrics
+ *
+ * Call, error and row counters plus a {@link LatencyHistogram} for every
+ * DAO operation of one entity class. Recording only touches atomic
+ * counters, so metrics stay on in production. They can be read through
+ * {@link #snapshot()} or over JMX, where each entity class is published
+ * as {@code io.github.guisso.taskmanagement:type=DaoMetrics,entity=<name>}.
+ *
+ * @version 0.1, 2026-10-17
+ */
+public class DaoMetrics implements DaoMetricsMXBean {
+
+    private static final Logger LOGGER = Logger.getLogger(DaoMetrics.class.getName());
+
+    private static final Map<Class<?>, DaoMetrics> REGISTRY = new ConcurrentHashMap<>();
+
+    /**
+     * DAO operations being measured
+     */
+    public enum Operation {
+        SAVE_OR_UPDATE,
+        SAVE_ALL,
+        UPDATE_ALL,
+        SAVE_OR_UPDATE_ALL,
+        DELETE,
+        DELETE_ALL,
+        FIND_BY_ID,
+        FIND_BY_IDS,
+        FIND_ALL,
+        FIND_ALL_PROJECTED,
+        STREAM_ALL,
+        FIND_PAGE,
+        FIND_PAGE_PROJECTED,
+        FIND_PAGE_ON_TRASH,
+        MOVE_TO_TRASH,
+        RESTORE_FROM_TRASH,
+        FIND_ALL_ON_TRASH,
+        FIND_BY_NAME,
+        FIND_BY_NAME_PREFIX,
+        FIND_BY_QUERY
+    }
+
+    private final String entity;
+    private final Counters[] counters = new Counters[Operation.values().length];
+
+    private DaoMetrics(String entity) {
+        this.entity = entity;
+        for (Operation operation : Operation.values()) {
+            counters[operation.ordinal()] = new Counters();
+        }
+    }
+
+    /**
+     * Gets the metrics of an entity class, registering them over JMX on
+     * first use
+     *
+     * @param type Entity class
+     * @return Metrics shared by every DAO of that class
+     */
+    public static DaoMetrics of(Class<? extends Entity> type) {
+        return REGISTRY.computeIfAbsent(type, t -> {
+            DaoMetrics metrics = new DaoMetrics(t.getSimpleName());
+            metrics.register();
+            return metrics;
+        });
+    }
+
+    /**
+     * Takes a snapshot of the metrics of every entity class
+     *
+     * @return Operation statistics by entity class name
+     */
+    public static Map<String, List<OperationStatistics>> snapshotAll() {
+        Map<String, List<OperationStatistics>> all = new TreeMap<>();
+        REGISTRY.values().forEach(m -> all.put(m.entity, m.snapshot()));
+        return all;
+    }
+
+    /**
+     * Records one call
+     *
+     * @param operation Operation performed
+     * @param startNanos Value of {@link System#nanoTime()} at the start
+     * @param rows Rows returned or written
+     * @param failed True if the call failed
+     */
+    public void record(Operation operation, long startNanos, long rows, boolean failed) {
+        Counters c = counters[operation.ordinal()];
+        c.latency.record(System.nanoTime() - startNanos);
+        c.calls.increment();
+        if (rows > 0) {
+            c.rows.add(rows);
+        }
+        if (failed) {
+            c.errors.increment();
+        }
+    }
+
+    /**
+     * Takes a snapshot of the operations called at least once
+     *
+     * @return Operation statistics
+     */
+    public List<OperationStatistics> snapshot() {
+        List<OperationStatistics> statistics = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            Counters c = counters[operation.ordinal()];
+            if (c.calls.sum() > 0) {
+                statistics.add(new OperationStatistics(operation.name(), c.calls.sum(),
+                        c.errors.sum(), c.rows.sum(), c.latency.snapshot()));
+            }
+        }
+        return statistics;
+    }
+
+    @Override
+    public String getEntity() {
+        return entity;
+    }
+
+    @Override
+    public List<OperationStatistics> getOperations() {
+        return snapshot();
+    }
+
+    private void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName("io.github.guisso.taskmanagement:type=DaoMetrics,entity="
+                    + ObjectName.quote(entity));
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+            }
+        } catch (JMException | RuntimeException ex) {
+            LOGGER.log(Level.FINE, "DAO metrics not published over JMX", ex);
+        }
+    }
+
+    private static final class Counters {
+
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+    }
+
+    /**
+     * Statistics of one operation at the time of the snapshot
+     */
+    public static class OperationStatistics {
+
+        private final String operation;
+        private final long calls;
+        private final long errors;
+        private final long rows;
+        private final double meanMillis;
+        private final double p50Millis;
+        private final double p90Millis;
+        private final double p99Millis;
+        private final double p999Millis;
+        private final double maxMillis;
+
+        private OperationStatistics(String operation, long calls, long errors, long rows,
+                LatencyHistogram.Snapshot latency) {
+            this.operation = operation;
+            this.calls = calls;
+            this.errors = errors;
+            this.rows = rows;
+            this.meanMillis = latency.getMeanMillis();
+            this.p50Millis = latency.getPercentileMillis(50.0);
+            this.p90Millis = latency.getPercentileMillis(90.0);
+            this.p99Millis = latency.getPercentileMillis(99.0);
+            this.p999Millis = latency.getPercentileMillis(99.9);
+            this.maxMillis = latency.getMaxMillis();
+        }
+
+        // <editor-fold defaultstate="collapsed" desc="Getters">
+        public String getOperation() {
+            return operation;
+        }
+
+        public long getCalls() {
+            return calls;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public double getMeanMillis() {
+            return meanMillis;
+        }
+
+        public double getP50Millis() {
+            return p50Millis;
+        }
+
+        public double getP90Millis() {
+            return p90Millis;
+        }
+
+        public double getP99Millis() {
+            return p99Millis;
+        }
+
+        public double getP999Millis() {
+            return p999Millis;
+        }
+
+        public double getMaxMillis() {
+            return maxMillis;
+        }
+        // </editor-fold>
+
+        @Override
+        public String toString() {
+            return String.format("%s{calls=%d, errors=%d, rows=%d, mean=%.3fms,"
+                    + " p50=%.3fms, p90=%.3fms, p99=%.3fms, p99.9=%.3fms, max=%.3fms}",
+                    operation, calls, errors, rows, meanMillis,
+                    p50Millis, p90Millis, p99Millis, p999Millis, maxMillis);
+        }
+    }
+}
@@ -34,21 +34,32 @@
 package io.github.guisso.taskmanagement.repository;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Class DbConnection
  *
+ * Entry point to the database connection pool. Every call to
+ * {@link #getConnection()} borrows a connection that must be closed
+ * (preferably with try-with-resources) to give it back to the pool.
+ *
+ * With {@link #setReplicaUrls(List)} configured, the DAO reads borrow
+ * through {@link #getReadConnection()} from the read replicas instead,
+ * while writes and everything inside a {@link UnitOfWork} stay on the
+ * primary.
+ *
  * @author Luis Guisso &lt;luis dot guisso at ifnmg dot edu dot br&gt;
- * @version 0.2, 2024-08-29
+ * @version 0.3, 2026-10-17
  */
 public class DbConnection {
 
-    // Retains the established connection to the database during system operation
-    private static Connection connection;
+    // Pool shared by all DAOs, created on first use
+    private static volatile ConnectionPool pool;
 
     /**
      * URL database connection (protocol/sgbd/ip/port/database/parameters)
@@ -61,42 +72,175 @@ public class DbConnection {
     // Database password
     private static String PASSWORD;
 
+    // Pool sizing and timeouts
+    private static int minPoolSize = 2;
+    private static volatile int maxPoolSize = 10;
+    private static long borrowTimeoutMillis = 30_000L;
+    private static long idleTimeoutMillis = 10 * 60_000L;
+    private static long leakDetectionThresholdMillis = 0L;
+    private static int statementCacheSize = 64;
+
+    // Opt-in MySQL rewriting of JDBC batches into multi-row statements
+    private static boolean rewriteBatchedStatements = false;
+
+    // Opt-in MySQL support for several statements in one round trip
+    private static boolean allowMultiQueries = false;
+
+    // Read replicas (same user and password as the primary), created on first read
+    private static List<String> replicaUrls = Collections.emptyList();
+    private static volatile ReplicaSet replicas;
+    private static long replicaHealthCheckIntervalMillis = 5_000L;
+
+    // A busy replica is waited on briefly, then the read goes elsewhere
+    private static long replicaBorrowTimeoutMillis = 250L;
+
+    // Every pool opens connections through its own breaker with these settings
+    private static int circuitBreakerThreshold = 3;
+    private static long circuitBreakerInitialOpenMillis = 500L;
+    private static long circuitBreakerMaxOpenMillis = 30_000L;
+
+    // Retries of the DAO reads on transient failures
+    private static volatile RetryPolicy retryPolicy
+            = new RetryPolicy(3, Duration.ofMillis(50), Duration.ofSeconds(1));
+
+    // After a write, the thread's reads stay on the primary for this long
+    private static volatile long readYourWritesWindowMillis = 0L;
+    private static final ThreadLocal<long[]> LAST_WRITE = ThreadLocal.withInitial(() -> new long[1]);
+
     // Static initialization block
     static {
         // Default configuration for local server
         URL = "jdbc:mysql://127.0.0.1:3306/" + Dao.DB
                 + "?useUnicode=true"
                 + "&useJDBCCompliantTimezoneShift=true"
-                + "&serverTimezone=UTC"
-                + "&autoReconnect=true";
+                + "&serverTimezone=UTC";
         USER = "root";
         PASSWORD = "";
     }
 
     /**
-     * Establishes and generates database connection retention
+     * Borrows a connection from the pool, creating the pool on first use.
+     * Inside {@link UnitOfWork#inTransaction(UnitOfWork.Work)} it returns
+     * the connection of the running unit instead.
      *
-     * @return Database connection
+     * @return Database connection; closing it returns it to the pool
+     * @throws SQLException If no connection is available within the borrow
+     * timeout or the database cannot be reached
      */
-    public static Connection getConnection() {
+    public static Connection getConnection() throws SQLException {
+        if (readYourWritesWindowMillis > 0) {
+            LAST_WRITE.get()[0] = System.nanoTime();
+        }
+
+        UnitOfWork unit = UnitOfWork.current();
+        if (unit != null) {
+            return unit.getConnection();
+        }
+        return getPool().borrow();
+    }
+
+    /**
+     * Borrows a connection for a read-only query. It comes from a healthy
+     * read replica, except inside a {@link UnitOfWork} (the unit's
+     * connection), within the read-your-writes window of a write made by
+     * the same thread, or when no replica is configured or available, in
+     * which cases it behaves as {@link #getConnection()} without counting
+     * as a write.
+     *
+     * @return Database connection; closing it returns it to its pool
+     * @throws SQLException If the primary had to be used and no connection
+     * is available within the borrow timeout
+     */
+    public static Connection getReadConnection() throws SQLException {
+        UnitOfWork unit = UnitOfWork.current();
+        if (unit != null) {
+            return unit.getConnection();
+        }
+
+        long window = readYourWritesWindowMillis;
+        if (window == 0 || System.nanoTime() - LAST_WRITE.get()[0] > window * 1_000_000L) {
+            ReplicaSet current = getReplicas();
+            if (current != null) {
+                Connection connection = current.borrow();
+                if (connection != null) {
+                    return connection;
+                }
+            }
+        }
+
+        return getPool().borrow();
+    }
+
+    /**
+     * Gets the pool behind {@link #getConnection()}
+     *
+     * @return Connection pool
+     */
+    public static ConnectionPool getPool() {
+        ConnectionPool current = pool;
+
+        if (current == null) {
+            synchronized (DbConnection.class) {
+                current = pool;
+                if (current == null) {
+                    String url = URL;
+                    if (rewriteBatchedStatements) {
+                        url += (url.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true";
+                    }
+                    if (allowMultiQueries) {
+                        url += (url.contains("?") ? "&" : "?") + "allowMultiQueries=true";
+                    }
+                    current = new ConnectionPool(url, USER, PASSWORD,
+                            minPoolSize, maxPoolSize, borrowTimeoutMillis,
+                            idleTimeoutMillis, leakDetectionThresholdMillis,
+                            statementCacheSize, newCircuitBreaker());
+                    pool = current;
+                }
+            }
+        }
+
+        return current;
+    }
 
-        // If there is no connection established...
-        if (connection == null) {
-            // ... try ...
-            try {
-                System.out.println(">> New database connection");
-                // ... establish and retain the connection 
-                //     from the provided URL, username, and password
-                connection = DriverManager.getConnection(URL, USER, PASSWORD);
-            } catch (SQLException ex) {
-                // Log failure
-                Logger.getLogger(DbConnection.class.getName()).log(Level.SEVERE, "System stopped because there is no RDBMS connection", ex);
-                System.exit(-1);
+    // Replica pools, or null when no replica is configured
+    private static ReplicaSet getReplicas() {
+        ReplicaSet current = replicas;
+
+        if (current == null && !replicaUrls.isEmpty()) {
+            synchronized (DbConnection.class) {
+                current = replicas;
+                if (current == null && !replicaUrls.isEmpty()) {
+                    current = new ReplicaSet(replicaUrls, USER, PASSWORD,
+                            minPoolSize, maxPoolSize, replicaBorrowTimeoutMillis,
+                            idleTimeoutMillis, leakDetectionThresholdMillis,
+                            statementCacheSize, replicaHealthCheckIntervalMillis,
+                            DbConnection::newCircuitBreaker);
+                    replicas = current;
+                }
             }
         }
 
-        // Returns the established connection
-        return connection;
+        return current;
+    }
+
+    private static CircuitBreaker newCircuitBreaker() {
+        return new CircuitBreaker(circuitBreakerThreshold,
+                circuitBreakerInitialOpenMillis, circuitBreakerMaxOpenMillis);
+    }
+
+    /**
+     * Closes the pools; the next call to {@link #getConnection()} creates a
+     * new one with the current configuration
+     */
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
+        if (replicas != null) {
+            replicas.close();
+            replicas = null;
+        }
     }
 
     /**
@@ -113,8 +257,9 @@ public class DbConnection {
      *
      * @param url New URL for the database
      */
-    public static void setUrl(String url) {
+    public static synchronized void setUrl(String url) {
         URL = url;
+        shutdown();
     }
 
     /**
@@ -131,8 +276,9 @@ public class DbConnection {
      *
      * @param user New user for the database
      */
-    public static void setUser(String user) {
+    public static synchronized void setUser(String user) {
         USER = user;
+        shutdown();
     }
 
     /**
@@ -149,8 +295,209 @@ public class DbConnection {
      *
      * @param password New password for the database
      */
-    public static void setPassword(String password) {
+    public static synchronized void setPassword(String password) {
         PASSWORD = password;
+        shutdown();
+    }
+
+    /**
+     * Sets the number of connections kept open even when idle
+     *
+     * @param size Minimum pool size
+     */
+    public static synchronized void setMinPoolSize(int size) {
+        minPoolSize = size;
+        shutdown();
+    }
+
+    /**
+     * Gets the maximum number of connections open at the same time,
+     * without creating the pool
+     *
+     * @return Maximum pool size
+     */
+    public static int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    /**
+     * Sets the maximum number of connections open at the same time
+     *
+     * @param size Maximum pool size
+     */
+    public static synchronized void setMaxPoolSize(int size) {
+        maxPoolSize = size;
+        shutdown();
+    }
+
+    /**
+     * Sets how long a caller waits for a free connection
+     *
+     * @param millis Borrow timeout in milliseconds
+     */
+    public static synchronized void setBorrowTimeout(long millis) {
+        borrowTimeoutMillis = millis;
+        shutdown();
+    }
+
+    /**
+     * Sets how long a connection may stay idle before being closed
+     *
+     * @param millis Idle timeout in milliseconds
+     */
+    public static synchronized void setIdleTimeout(long millis) {
+        idleTimeoutMillis = millis;
+        shutdown();
+    }
+
+    /**
+     * Sets how long a connection may stay borrowed before it is reported
+     * as a leak (0 disables leak detection)
+     *
+     * @param millis Leak detection threshold in milliseconds
+     */
+    public static synchronized void setLeakDetectionThreshold(long millis) {
+        leakDetectionThresholdMillis = millis;
+        shutdown();
+    }
+
+    /**
+     * Sets how many prepared statements each connection keeps cached
+     * (0 disables the cache)
+     *
+     * @param size Statement cache size per connection
+     */
+    public static synchronized void setStatementCacheSize(int size) {
+        statementCacheSize = size;
+        shutdown();
+    }
+
+    /**
+     * Enables MySQL Connector/J rewriting of JDBC batches into multi-row
+     * INSERT statements (disabled by default)
+     *
+     * @param enabled True to append rewriteBatchedStatements=true to the URL
+     */
+    public static synchronized void setRewriteBatchedStatements(boolean enabled) {
+        rewriteBatchedStatements = enabled;
+        shutdown();
+    }
+
+    /**
+     * Lets MySQL Connector/J send several semicolon-separated statements in
+     * one round trip, as used by the multi-statement write mode of
+     * {@link io.github.guisso.taskmanagement.task.SpecialTaskDao} (disabled
+     * by default)
+     *
+     * @param enabled True to append allowMultiQueries=true to the URL
+     */
+    public static synchronized void setAllowMultiQueries(boolean enabled) {
+        allowMultiQueries = enabled;
+        shutdown();
+    }
+
+    /**
+     * Gets the read replica URLs
+     *
+     * @return Replica URLs, empty if reads go to the primary
+     */
+    public static List<String> getReplicaUrls() {
+        return replicaUrls;
+    }
+
+    /**
+     * Sets the read replicas that serve {@link #getReadConnection()}. They
+     * use the user, password and pool settings of the primary.
+     *
+     * @param urls Replica URLs; empty to read from the primary
+     */
+    public static synchronized void setReplicaUrls(List<String> urls) {
+        replicaUrls = Collections.unmodifiableList(new ArrayList<>(urls));
+        shutdown();
+    }
+
+    /**
+     * Sets how often every replica is validated; a replica that failed is
+     * back in rotation after its next successful check
+     *
+     * @param millis Health check interval in milliseconds
+     */
+    public static synchronized void setReplicaHealthCheckInterval(long millis) {
+        replicaHealthCheckIntervalMillis = millis;
+        shutdown();
+    }
+
+    /**
+     * Sets how long a read waits for a connection of a replica whose pool
+     * is exhausted before trying another replica, and at last the primary.
+     * A busy replica stays in rotation.
+     *
+     * @param millis Replica borrow timeout in milliseconds
+     */
+    public static synchronized void setReplicaBorrowTimeout(long millis) {
+        replicaBorrowTimeoutMillis = millis;
+        shutdown();
+    }
+
+    /**
+     * Gets the health of every replica as of its last check or borrow
+     *
+     * @return True (healthy) or false by replica URL; empty before the
+     * first read or without replicas
+     */
+    public static Map<String, Boolean> getReplicaHealth() {
+        ReplicaSet current = replicas;
+        return current == null ? Collections.emptyMap() : current.getHealth();
+    }
+
+    /**
+     * Sets how long, after borrowing a connection from the primary, the
+     * reads of the same thread keep going to the primary so they see its
+     * own writes despite replication lag (0, the default, disables it)
+     *
+     * @param millis Read-your-writes window in milliseconds
+     */
+    public static void setReadYourWritesWindow(long millis) {
+        readYourWritesWindowMillis = millis;
+    }
+
+    /**
+     * Sets when the pools stop trying to connect to a database that is
+     * down: after the given consecutive connection failures they fail fast
+     * for the open delay, which doubles on each failed trial up to the
+     * maximum
+     *
+     * @param failureThreshold Consecutive failures that open the circuit
+     * @param initialOpenMillis First open delay in milliseconds
+     * @param maxOpenMillis Longest open delay in milliseconds
+     */
+    public static synchronized void setCircuitBreaker(int failureThreshold,
+            long initialOpenMillis, long maxOpenMillis) {
+        // Fails on invalid settings before any is changed
+        new CircuitBreaker(failureThreshold, initialOpenMillis, maxOpenMillis);
+        circuitBreakerThreshold = failureThreshold;
+        circuitBreakerInitialOpenMillis = initialOpenMillis;
+        circuitBreakerMaxOpenMillis = maxOpenMillis;
+        shutdown();
+    }
+
+    /**
+     * Gets the retry policy of the DAO reads
+     *
+     * @return Retry policy
+     */
+    public static RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Sets the retry policy of the DAO reads; {@link RetryPolicy#NONE}
+     * disables retries
+     *
+     * @param policy Retry policy
+     */
+    public static void setRetryPolicy(RetryPolicy policy) {
+        retryPolicy = policy;
     }
 
     //<editor-fold defaultstate="collapsed" desc="Private constructor">
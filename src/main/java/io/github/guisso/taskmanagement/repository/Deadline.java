@@ -0,0 +1,330 @@
+/*
+ * CC BY-NC-SA 4.0
+ *
+ * Copyright 2022 Luis Guisso &lt;luis dot guisso at ifnmg dot edu dot br&gt;.
+ *
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ *
+ * You are free to:
+ *   Share - copy and redistribute the material in any medium or format
+ *   Adapt - remix, transform, and build upon the material
+ *
+ * Under the following terms:
+ *   Attribution - You must give appropriate credit, provide 
+ *   a link to the license, and indicate if changes were made.
+ *   You may do so in any reasonable manner, but not in any 
+ *   way that suggests the licensor endorses you or your use.
+ *   NonCommercial - You may not use the material for commercial purposes.
+ *   ShareAlike - If you remix, transform, or build upon the 
+ *   material, you must distribute your contributions under 
+ *   the same license as the original.
+ *   No additional restrictions - You may not apply legal 
+ *   terms or technological measures that legally restrict 
+ *   others from doing anything the license permits.
+ *
+ * Notices:
+ *   You do not have to comply with the license for elements 
+ *   of the material in the public domain or where your use 
+ *   is permitted by an applicable exception or limitation.
+ *   No warranties are given. The license may not give you 
+ *   all of the permissions necessary for your intended use. 
+ *   For example, other rights such as publicity, privacy, 
+ *   or moral rights may limit how you use the material.
+ */
+package io.github.guisso.taskmanagement.repository;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Class Deadline
+ *
+ * Time limit for the DAO calls made on the current thread. While a
+ * deadline is open, every statement prepared by a {@link Dao} gets a query
+ * timeout of the time left (or of the DAO default, if shorter), calls made
+ * after it expired fail with {@link SQLTimeoutException} before reaching
+ * the database, and statements still running when it expires are
+ * cancelled with {@link Statement#cancel()}.
+ *
+ * <pre>
+ * try (Deadline deadline = Deadline.start(Duration.ofMillis(800))) {
+ *     List&lt;Task&gt; tasks = taskDao.findByName("report");
+ * }
+ * </pre>
+ *
+ * Another thread holding the deadline may {@link #cancel()} it, which
+ * cancels the running statement and fails the following calls. Opening a
+ * deadline inside another one never extends it: the inner one expires no
+ * later than the outer one, and cancelling the outer one cancels both.
+ *
+ * @version 0.1, 2026-10-17
+ */
+public final class Deadline implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(Deadline.class.getName());
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    // Registered statements above which closed ones are forgotten
+    private static final int PRUNE_THRESHOLD = 64;
+
+    // Deadline that was current when this one was started
+    private final Deadline outer;
+
+    // System.nanoTime() at which the deadline expires
+    private final long expiresAt;
+
+    // Statements prepared under this deadline, cancelled when it expires
+    private final Set<Statement> statements = ConcurrentHashMap.newKeySet();
+
+    private final ScheduledFuture<?> expiry;
+
+    private volatile boolean cancelled;
+
+    private boolean closed;
+
+    private Deadline(Deadline outer, long expiresAt) {
+        this.outer = outer;
+        this.expiresAt = expiresAt;
+        this.expiry = Timer.INSTANCE.schedule(this::cancelStatements,
+                Math.max(0L, expiresAt - System.nanoTime()), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Starts a deadline and binds it to the current thread
+     *
+     * @param timeout Time allowed to the DAO calls made until it is closed
+     * @return New deadline, to be closed at the end of the calls
+     */
+    public static Deadline start(Duration timeout) {
+        if (timeout.isNegative()) {
+            throw new IllegalArgumentException("Timeout must not be negative");
+        }
+
+        Deadline outer = CURRENT.get();
+        long now = System.nanoTime();
+        long expiresAt = now + Math.min(timeout.toNanos(), Long.MAX_VALUE / 4);
+        if (outer != null && outer.expiresAt - expiresAt < 0) {
+            expiresAt = outer.expiresAt;
+        }
+
+        Deadline deadline = new Deadline(outer, expiresAt);
+        CURRENT.set(deadline);
+        return deadline;
+    }
+
+    /**
+     * Gets the deadline bound to the current thread
+     *
+     * @return Current deadline or null if none is open
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Sets the query timeout of a statement about to run: the time left to
+     * the current deadline or the given default, whichever is shorter, and
+     * registers the statement so the deadline can cancel it. The statement
+     * is closed if the deadline has already expired.
+     *
+     * @param <S> Statement type
+     * @param statement Statement just prepared
+     * @param defaultTimeout Timeout when no deadline is open (zero for none)
+     * @return The same statement
+     * @throws SQLException If the current deadline expired or was cancelled
+     */
+    public static <S extends Statement> S apply(S statement, Duration defaultTimeout) throws SQLException {
+        Deadline deadline = CURRENT.get();
+        long timeoutMillis = defaultTimeout.toMillis();
+
+        try {
+            if (deadline != null) {
+                // Registered first, so a deadline expiring right after the
+                // check still cancels the statement
+                deadline.register(statement);
+                deadline.check();
+                long remaining = Math.max(1L, deadline.remainingMillis());
+                timeoutMillis = timeoutMillis == 0 ? remaining : Math.min(timeoutMillis, remaining);
+            }
+
+            // Query timeouts are whole seconds; the deadline itself cancels
+            // the statement on time
+            statement.setQueryTimeout(timeoutMillis == 0
+                    ? 0
+                    : (int) Math.min(Integer.MAX_VALUE, (timeoutMillis + 999) / 1_000));
+            return statement;
+
+        } catch (SQLException | RuntimeException ex) {
+            statement.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Fails if the deadline expired or was cancelled
+     *
+     * @throws SQLTimeoutException If no time is left
+     */
+    public void check() throws SQLTimeoutException {
+        if (isCancelled()) {
+            throw new SQLTimeoutException("Deadline cancelled", "57014");
+        }
+        if (remainingMillis() <= 0) {
+            throw new SQLTimeoutException("Deadline exceeded", "57014");
+        }
+    }
+
+    /**
+     * Cancels the deadline, and with it the statement it is running. Safe
+     * to call from any thread.
+     */
+    public void cancel() {
+        cancelled = true;
+        cancelStatements();
+    }
+
+    public boolean isCancelled() {
+        return cancelled || (outer != null && outer.isCancelled());
+    }
+
+    public boolean isExpired() {
+        return isCancelled() || remainingMillis() <= 0;
+    }
+
+    /**
+     * Gets the time left, rounded down to milliseconds
+     *
+     * @return Milliseconds left, zero or less once expired
+     */
+    public long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(expiresAt - System.nanoTime());
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        expiry.cancel(false);
+        statements.clear();
+
+        if (CURRENT.get() == this) {
+            if (outer == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(outer);
+            }
+        }
+    }
+
+    /**
+     * Wraps a call so that it runs under the deadline current at wrapping
+     * time, on whatever thread ends up running it
+     *
+     * @param <R> Result type
+     * @param call Call to wrap
+     * @return Call bound to the current deadline, or the call itself if
+     * none is open
+     */
+    static <R> Supplier<R> propagate(Supplier<R> call) {
+        Deadline deadline = CURRENT.get();
+        if (deadline == null) {
+            return call;
+        }
+
+        return () -> {
+            Deadline previous = CURRENT.get();
+            CURRENT.set(deadline);
+            try {
+                return call.get();
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+
+    // Registered here and on every enclosing deadline, since cancelling
+    // an outer deadline cancels the inner ones too
+    private void register(Statement statement) {
+        for (Deadline deadline = this; deadline != null; deadline = deadline.outer) {
+            if (deadline.statements.size() >= PRUNE_THRESHOLD) {
+                deadline.pruneClosed();
+            }
+            deadline.statements.add(statement);
+        }
+    }
+
+    /**
+     * Forgets a statement being closed by its caller, on the current
+     * deadline and the enclosing ones, so that none of them cancels it
+     * once a pool lends it to another caller
+     *
+     * @param statement Statement being closed
+     */
+    static void release(Statement statement) {
+        for (Deadline deadline = CURRENT.get(); deadline != null; deadline = deadline.outer) {
+            deadline.statements.remove(statement);
+        }
+    }
+
+    // Forgets the statements already closed by their callers
+    private void pruneClosed() {
+        statements.removeIf(statement -> {
+            try {
+                return statement.isClosed();
+            } catch (SQLException ex) {
+                return true;
+            }
+        });
+    }
+
+    private void cancelStatements() {
+        for (Statement statement : statements) {
+            statements.remove(statement);
+            try {
+                if (!statement.isClosed()) {
+                    statement.cancel();
+                }
+            } catch (SQLException ex) {
+                // Already closed by its caller meanwhile
+                LOGGER.log(Level.FINE, "Could not cancel statement", ex);
+            }
+        }
+    }
+
+    /**
+     * Daemon thread that cancels the statements of expired deadlines
+     */
+    private static final class Timer {
+
+        private static final ScheduledExecutorService INSTANCE = newTimer();
+
+        private static ScheduledExecutorService newTimer() {
+            ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread thread = new Thread(r, "dao-deadline-timer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            // Most deadlines are closed long before expiring
+            timer.setRemoveOnCancelPolicy(true);
+            return timer;
+        }
+    }
+}
@@ -0,0 +1,404 @@
+/*
+ * CC BY-NC-SA 4.0
+ *
+ * Copyright 2022 Luis Guisso &lt;luis dot guisso at ifnmg dot edu dot br&gt;.
+ *
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ *
+ * You are free to:
+ *   Share - copy and redistribute the material in any medium or format
+ *   Adapt - remix, transform, and build upon the material
+ *
+ * Under the following terms:
+ *   Attribution - You must give appropriate credit, provide 
+ *   a link to the license, and indicate if changes were made.
+ *   You may do so in any reasonable manner, but not in any 
+ *   way that suggests the licensor endorses you or your use.
+ *   NonCommercial - You may not use the material for commercial purposes.
+ *   ShareAlike - If you remix, transform, or build upon the 
+ *   material, you must distribute your contributions under 
+ *   the same license as the original.
+ *   No additional restrictions - You may not apply legal 
+ *   terms or technological measures that legally restrict 
+ *   others from doing anything the license permits.
+ *
+ * Notices:
+ *   You do not have to comply with the license for elements 
+ *   of the material in the public domain or where your use 
+ *   is permitted by an applicable exception or limitation.
+ *   No warranties are given. The license may not give you 
+ *   all of the permissions necessary for your intended use. 
+ *   For example, other rights such as publicity, privacy, 
+ *   or moral rights may limit how you use the material.
+ */
+package io.github.guisso.taskmanagement.repository;
+
+import io.github.guisso.taskmanagement.entity.Entity;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Class EntityCache
+ *
+ * Bounded, process-wide cache of entities by ID, used as one region of the
+ * {@link SecondLevelCache}. Entries expire {@code timeToLive} after they
+ * were loaded. When the cache is full the least recently used entry is
+ * evicted; with {@link EvictionPolicy#TINY_LFU} a newcomer is only admitted
+ * if it has been requested more often than that victim, which keeps
+ * one-off scans from flushing the hot set.
+ *
+ * DAOs cache a copy of each entity and hand every reader a new copy of
+ * it, so cached instances are never shared; saving through the DAO
+ * invalidates the entry.
+ *
+ * @param <T> Entity data type
+ * @version 0.1, 2026-10-17
+ */
+public class EntityCache<T extends Entity> {
+
+    /**
+     * Policy used to choose what leaves a full cache
+     */
+    public enum EvictionPolicy {
+        // Evict the least recently used entry
+        LRU,
+        // LRU victim, but admit newcomers only if they are more frequent
+        TINY_LFU
+    }
+
+    private final int maxSize;
+    private final long timeToLiveNanos;
+    private final EvictionPolicy policy;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Long, Node<T>> entries;
+    private final FrequencySketch sketch;
+
+    // Bumped on every invalidation so loads racing a write are not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder totalLoadNanos = new LongAdder();
+
+    public EntityCache(int maxSize, Duration timeToLive, EvictionPolicy policy) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1");
+        }
+
+        this.maxSize = maxSize;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.policy = policy;
+        this.entries = new LinkedHashMap<>(Math.min(maxSize, 1024), 0.75f, true);
+        this.sketch = policy == EvictionPolicy.TINY_LFU ? new FrequencySketch(maxSize) : null;
+    }
+
+    /**
+     * Gets a cached entity
+     *
+     * @param id Record ID
+     * @return Cached entity or null if absent or expired
+     */
+    public T get(Long id) {
+        lock.lock();
+        try {
+            if (sketch != null) {
+                sketch.increment(id);
+            }
+
+            Node<T> node = entries.get(id);
+            if (node == null) {
+                misses.increment();
+                return null;
+            }
+            if (System.nanoTime() - node.loadedAt > timeToLiveNanos) {
+                entries.remove(id);
+                expirations.increment();
+                misses.increment();
+                return null;
+            }
+
+            hits.increment();
+            return node.entity;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the ticket to pass to {@link #put(Long, Entity, long, long)}
+     * for an entity about to be loaded
+     *
+     * @return Current invalidation generation
+     */
+    public long loadTicket() {
+        return generation.get();
+    }
+
+    /**
+     * Caches an entity just loaded from the database, unless an
+     * invalidation happened since the load started
+     *
+     * @param id Record ID
+     * @param entity Loaded entity
+     * @param ticket Value of {@link #loadTicket()} taken before loading
+     * @param loadNanos Time spent loading it, for the statistics
+     */
+    public void put(Long id, T entity, long ticket, long loadNanos) {
+        loads.increment();
+        totalLoadNanos.add(loadNanos);
+
+        lock.lock();
+        try {
+            if (ticket != generation.get()) {
+                return;
+            }
+
+            if (!entries.containsKey(id) && entries.size() >= maxSize) {
+                Iterator<Map.Entry<Long, Node<T>>> eldest = entries.entrySet().iterator();
+                Map.Entry<Long, Node<T>> victim = eldest.next();
+
+                if (sketch != null && sketch.frequency(id) <= sketch.frequency(victim.getKey())) {
+                    rejections.increment();
+                    return;
+                }
+
+                eldest.remove();
+                evictions.increment();
+            }
+
+            entries.put(id, new Node<>(entity, System.nanoTime()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes a cached entity
+     *
+     * @param id Record ID
+     */
+    public void invalidate(Long id) {
+        lock.lock();
+        try {
+            generation.incrementAndGet();
+            entries.remove(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes every cached entity
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            generation.incrementAndGet();
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Takes a snapshot of the cache counters
+     *
+     * @return Cache statistics
+     */
+    public Statistics getStatistics() {
+        return new Statistics(hits.sum(), misses.sum(), evictions.sum(),
+                expirations.sum(), rejections.sum(), loads.sum(),
+                totalLoadNanos.sum(), size(), maxSize, policy);
+    }
+
+    /**
+     * Snapshot of the counters of one cache
+     */
+    public static class Statistics {
+
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long expirations;
+        private final long rejections;
+        private final long loads;
+        private final long totalLoadNanos;
+        private final int size;
+        private final int maxSize;
+        private final EvictionPolicy policy;
+
+        private Statistics(long hits, long misses, long evictions, long expirations,
+                long rejections, long loads, long totalLoadNanos, int size,
+                int maxSize, EvictionPolicy policy) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.expirations = expirations;
+            this.rejections = rejections;
+            this.loads = loads;
+            this.totalLoadNanos = totalLoadNanos;
+            this.size = size;
+            this.maxSize = maxSize;
+            this.policy = policy;
+        }
+
+        // <editor-fold defaultstate="collapsed" desc="Getters">
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public double getHitRatio() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public long getExpirations() {
+            return expirations;
+        }
+
+        /**
+         * Gets how many loaded entities TinyLFU declined to admit
+         *
+         * @return Rejected admissions
+         */
+        public long getRejections() {
+            return rejections;
+        }
+
+        public long getLoads() {
+            return loads;
+        }
+
+        public double getAverageLoadMillis() {
+            return loads == 0 ? 0.0 : totalLoadNanos / 1e6 / loads;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public EvictionPolicy getPolicy() {
+            return policy;
+        }
+        // </editor-fold>
+
+        @Override
+        public String toString() {
+            return "EntityCache{" +
+                    "policy=" + policy +
+                    ", size=" + size + "/" + maxSize +
+                    ", hitRatio=" + String.format("%.3f", getHitRatio()) +
+                    ", hits=" + hits +
+                    ", misses=" + misses +
+                    ", evictions=" + evictions +
+                    ", expirations=" + expirations +
+                    ", rejections=" + rejections +
+                    ", avgLoadMillis=" + String.format("%.3f", getAverageLoadMillis()) +
+                    '}';
+        }
+    }
+
+    private static final class Node<T> {
+
+        private final T entity;
+        private final long loadedAt;
+
+        private Node(T entity, long loadedAt) {
+            this.entity = entity;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    /**
+     * Count-min sketch of recent request frequencies, with 4-bit saturating
+     * counters that are halved periodically so old popularity fades
+     */
+    private static final class FrequencySketch {
+
+        private static final int DEPTH = 4;
+        private static final int MAX_COUNT = 15;
+        private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+        };
+
+        private final byte[][] counters;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        private FrequencySketch(int maxSize) {
+            int width = Integer.highestOneBit(Math.max(16, maxSize * 2) - 1) << 1;
+            this.counters = new byte[DEPTH][width];
+            this.mask = width - 1;
+            this.sampleSize = 10 * maxSize;
+        }
+
+        private void increment(Long key) {
+            long hash = key.hashCode();
+            for (int i = 0; i < DEPTH; i++) {
+                int index = index(hash, i);
+                if (counters[i][index] < MAX_COUNT) {
+                    counters[i][index]++;
+                }
+            }
+
+            if (++additions >= sampleSize) {
+                reset();
+            }
+        }
+
+        private int frequency(Long key) {
+            long hash = key.hashCode();
+            int frequency = MAX_COUNT;
+            for (int i = 0; i < DEPTH; i++) {
+                frequency = Math.min(frequency, counters[i][index(hash, i)]);
+            }
+            return frequency;
+        }
+
+        private int index(long hash, int row) {
+            long h = (hash + SEEDS[row]) * SEEDS[row];
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+
+        private void reset() {
+            additions /= 2;
+            for (byte[] row : counters) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] >>= 1;
+                }
+            }
+        }
+    }
+}
@@ -37,7 +37,10 @@ import io.github.guisso.taskmanagement.entity.Entity;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * Interface IDao
@@ -67,11 +70,27 @@ public interface IDao<T extends Entity> {
 
     public T findById(Long id);
 
+    // Get by many IDs
+    public String getFindByIdsStatement(int count);
+
+    public Map<Long, T> findByIds(Collection<Long> ids);
+
     // Get all
     public String getFindAllStatment();
 
     public List<T> findAll();
 
+    public Stream<T> streamAll();
+
+    // Keyset pagination
+    public String getFindPageStatement();
+
+    public Page<T> findPage(Long afterId, int limit);
+
+    public String getFindPageOnTrashStatement();
+
+    public Page<T> findPageOnTrash(Long afterId, int limit);
+
     // Trash operations
     public String getMoveToTrashStatement();
 
@@ -85,8 +104,19 @@ public interface IDao<T extends Entity> {
 
     public List<T> findAllOnTrash();
 
+    // Batch operations
+    public List<Long> saveAll(Collection<T> entities);
+
+    public void updateAll(Collection<T> entities);
+
+    public List<Long> saveOrUpdateAll(Collection<T> entities);
+
+    public void deleteAll(Collection<Long> ids);
+
     // Object assembly
     public T extractObject(ResultSet resultSet) throws SQLException;
 
     public List<T> extractObjects(ResultSet resultSet) throws SQLException;
+
+    public RowMapper<T> createRowMapper(ResultSet resultSet) throws SQLException;
 }
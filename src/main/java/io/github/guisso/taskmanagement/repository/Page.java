@@ -0,0 +1,88 @@
+/*
+ * CC BY-NC-SA 4.0
+ *
+ * Copyright 2022 Luis Guisso &lt;luis dot guisso at ifnmg dot edu dot br&gt;.
+ *
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ *
+ * You are free to:
+ *   Share - copy and redistribute the material in any medium or format
+ *   Adapt - remix, transform, and build upon the material
+ *
+ * Under the following terms:
+ *   Attribution - You must give appropriate credit, provide 
+ *   a link to the license, and indicate if changes were made.
+ *   You may do so in any reasonable manner, but not in any 
+ *   way that suggests the licensor endorses you or your use.
+ *   NonCommercial - You may not use the material for commercial purposes.
+ *   ShareAlike - If you remix, transform, or build upon the 
+ *   material, you must distribute your contributions under 
+ *   the same license as the original.
+ *   No additional restrictions - You may not apply legal 
+ *   terms or technological measures that legally restrict 
+ *   others from doing anything the license permits.
+ *
+ * Notices:
+ *   You do not have to comply with the license for elements 
+ *   of the material in the public domain or where your use 
+ *   is permitted by an applicable exception or limitation.
+ *   No warranties are given. The license may not give you 
+ *   all of the permissions necessary for your intended use. 
+ *   For example, other rights such as publicity, privacy, 
+ *   or moral rights may limit how you use the material.
+ */
+package io.github.guisso.taskmanagement.repository;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Class Page
+ *
+ * One page of a keyset-paginated query. The next page is requested with
+ * {@link #getNextAfterId()}, so every page costs the same index range scan
+ * no matter how deep it is.
+ *
+ * @param <T> Entity data type
+ * @version 0.1, 2026-10-17
+ */
+public class Page<T> {
+
+    private final List<T> items;
+    private final Long nextAfterId;
+    private final boolean hasNext;
+
+    public Page(List<T> items, Long nextAfterId, boolean hasNext) {
+        this.items = Collections.unmodifiableList(items);
+        this.nextAfterId = nextAfterId;
+        this.hasNext = hasNext;
+    }
+
+    // <editor-fold defaultstate="collapsed" desc="Getters">
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Gets the key to pass as {@code afterId} to fetch the next page
+     *
+     * @return ID of the last item on this page, or null if it is empty
+     */
+    public Long getNextAfterId() {
+        return nextAfterId;
+    }
+
+    public boolean hasNext() {
+        return hasNext;
+    }
+    // </editor-fold>
+
+    @Override
+    public String toString() {
+        return "Page{" +
+                "items=" + items.size() +
+                ", nextAfterId=" + nextAfterId +
+                ", hasNext=" + hasNext +
+                '}';
+    }
+}
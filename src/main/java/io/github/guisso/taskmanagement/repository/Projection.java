@@ -0,0 +1,174 @@
+/*
+ * CC BY-NC-SA 4.0
+ *
+ * Copyright 2022 Luis Guisso &lt;luis dot guisso at ifnmg dot edu dot br&gt;.
+ *
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ *
+ * You are free to:
+ *   Share - copy and redistribute the material in any medium or format
+ *   Adapt - remix, transform, and build upon the material
+ *
+ * Under the following terms:
+ *   Attribution - You must give appropriate credit, provide 
+ *   a link to the license, and indicate if changes were made.
+ *   You may do so in any reasonable manner, but not in any 
+ *   way that suggests the licensor endorses you or your use.
+ *   NonCommercial - You may not use the material for commercial purposes.
+ *   ShareAlike - If you remix, transform, or build upon the 
+ *   material, you must distribute your contributions under 
+ *   the same license as the original.
+ *   No additional restrictions - You may not apply legal 
+ *   terms or technological measures that legally restrict 
+ *   others from doing anything the license permits.
+ *
+ * Notices:
+ *   You do not have to comply with the license for elements 
+ *   of the material in the public domain or where your use 
+ *   is permitted by an applicable exception or limitation.
+ *   No warranties are given. The license may not give you 
+ *   all of the permissions necessary for your intended use. 
+ *   For example, other rights such as publicity, privacy, 
+ *   or moral rights may limit how you use the material.
+ */
+package io.github.guisso.taskmanagement.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Class Projection
+ *
+ * Subset of the columns of an entity, read into a lightweight object
+ * instead of a full entity. The DAO selects only these columns, so list
+ * screens that show a few fields skip transferring and mapping the rest:
+ *
+ * <pre>
+ * List&lt;Projection.Row&gt; rows = taskDao.findAll(Projection.of("id", "name"));
+ *
+ * Projection&lt;TaskSummary&gt; summary = Projection.of(
+ *         rs -&gt; new TaskSummary(rs.getLong(1), rs.getString(2)), "id", "name");
+ * List&lt;TaskSummary&gt; summaries = taskDao.findAll(summary);
+ * </pre>
+ *
+ * Columns are named as in the database and selected in the given order, so
+ * a mapper reads them by index starting at 1. Names are checked against the
+ * mapped columns of the entity before any SQL is built. Projected objects
+ * are not entities: they bypass the {@link Session}, the
+ * {@link SecondLevelCache} and dirty checking.
+ *
+ * @param <R> Projected type
+ * @version 0.1, 2026-10-17
+ */
+public final class Projection<R> {
+
+    private final List<String> columns;
+    private final RowMapper<R> mapper;
+
+    private Projection(List<String> columns, RowMapper<R> mapper) {
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("A projection needs at least one column");
+        }
+        this.columns = columns;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Projects the columns into {@link Row} objects
+     *
+     * @param columns Column names
+     * @return Projection
+     */
+    public static Projection<Row> of(String... columns) {
+        List<String> names = List.of(columns);
+        Map<String, Integer> positions = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            positions.put(names.get(i), i);
+        }
+        Map<String, Integer> shared = Collections.unmodifiableMap(positions);
+
+        return new Projection<>(names, resultSet -> {
+            Object[] values = new Object[names.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = resultSet.getObject(i + 1);
+            }
+            return new Row(shared, values);
+        });
+    }
+
+    /**
+     * Projects the columns into objects built by the given mapper
+     *
+     * @param <R> Projected type
+     * @param mapper Builds one object from the current row, reading the
+     * columns by index in the given order
+     * @param columns Column names
+     * @return Projection
+     */
+    public static <R> Projection<R> of(RowMapper<R> mapper, String... columns) {
+        return new Projection<>(List.of(columns), mapper);
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Getters">
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public RowMapper<R> getMapper() {
+        return mapper;
+    }
+    //</editor-fold>
+
+    R map(ResultSet resultSet) throws SQLException {
+        return mapper.map(resultSet);
+    }
+
+    /**
+     * Column values of one projected row, as returned by the driver
+     */
+    public static final class Row {
+
+        // Column positions, shared by all rows of the same projection
+        private final Map<String, Integer> positions;
+        private final Object[] values;
+
+        private Row(Map<String, Integer> positions, Object[] values) {
+            this.positions = positions;
+            this.values = values;
+        }
+
+        /**
+         * Gets the value of a projected column
+         *
+         * @param column Column name
+         * @return Column value, possibly null
+         */
+        public Object get(String column) {
+            Integer position = positions.get(column);
+            if (position == null) {
+                throw new IllegalArgumentException("Column not projected: " + column);
+            }
+            return values[position];
+        }
+
+        public Long getLong(String column) {
+            Object value = get(column);
+            return value == null ? null : ((Number) value).longValue();
+        }
+
+        public String getString(String column) {
+            Object value = get(column);
+            return value == null ? null : value.toString();
+        }
+
+        @Override
+        public String toString() {
+            return "Row" + Arrays.toString(values);
+        }
+    }
+}
@@ -0,0 +1,393 @@
+/*
+ * CC BY-NC-SA 4.0
+ *
+ * Copyright 2022 Luis Guisso &lt;luis dot guisso at ifnmg dot edu dot br&gt;.
+ *
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ *
+ * You are free to:
+ *   Share - copy and redistribute the material in any medium or format
+ *   Adapt - remix, transform, and build upon the material
+ *
+ * Under the following terms:
+ *   Attribution - You must give appropriate credit, provide 
+ *   a link to the license, and indicate if changes were made.
+ *   You may do so in any reasonable manner, but not in any 
+ *   way that suggests the licensor endorses you or your use.
+ *   NonCommercial - You may not use the material for commercial purposes.
+ *   ShareAlike - If you remix, transform, or build upon the 
+ *   material, you must distribute your contributions under 
+ *   the same license as the original.
+ *   No additional restrictions - You may not apply legal 
+ *   terms or technological measures that legally restrict 
+ *   others from doing anything the license permits.
+ *
+ * Notices:
+ *   You do not have to comply with the license for elements 
+ *   of the material in the public domain or where your use 
+ *   is permitted by an applicable exception or limitation.
+ *   No warranties are given. The license may not give you 
+ *   all of the permissions necessary for your intended use. 
+ *   For example, other rights such as publicity, privacy, 
+ *   or moral rights may limit how you use the material.
+ */
+package io.github.guisso.taskmanagement.repository;
+
+import io.github.guisso.taskmanagement.entity.Entity;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Class Query
+ *
+ * Filtered, ordered and limited query over the records of a {@link Dao},
+ * written against the typed columns generated in the entity mapping:
+ *
+ * <pre>
+ * List&lt;Task&gt; tasks = taskDao.query()
+ *         .where(TaskMapping.ACTIVE.eq(true))
+ *         .where(TaskMapping.LAST_ACCESS.between(from, to))
+ *         .orderBy(TaskMapping.NAME.asc())
+ *         .limit(50)
+ *         .list();
+ * </pre>
+ *
+ * Conditions are joined with AND and every value is sent as a statement
+ * parameter. The SQL is compiled once per query shape (columns, operators,
+ * ordering and whether there is a limit) and cached by the DAO, so running
+ * the same shape again with other values only binds parameters on a
+ * statement the {@link StatementCache} already holds.
+ *
+ * Queries are not thread-safe; build one per call.
+ *
+ * @param <T> Entity data type
+ * @version 0.1, 2026-10-17
+ */
+public final class Query<T extends Entity> {
+
+    /**
+     * Comparison operators
+     */
+    public enum Operator {
+        EQ(" = ?"),
+        NE(" <> ?"),
+        LT(" < ?"),
+        LE(" <= ?"),
+        GT(" > ?"),
+        GE(" >= ?"),
+        LIKE(" LIKE ?"),
+        BETWEEN(" BETWEEN ? AND ?"),
+        IS_NULL(" IS NULL"),
+        IS_NOT_NULL(" IS NOT NULL"),
+        IN(null);
+
+        private final String sql;
+
+        Operator(String sql) {
+            this.sql = sql;
+        }
+    }
+
+    private final Dao<T> dao;
+    private final List<Condition<T>> conditions = new ArrayList<>();
+    private final List<Order<T>> orders = new ArrayList<>();
+    private int limit;
+    private boolean onTrash;
+
+    Query(Dao<T> dao) {
+        this.dao = dao;
+    }
+
+    /**
+     * Adds a condition, joined to the previous ones with AND
+     *
+     * @param condition Condition on a column of the entity
+     * @return This query
+     */
+    public Query<T> where(Condition<T> condition) {
+        conditions.add(condition);
+        return this;
+    }
+
+    /**
+     * Adds a sort key after the previous ones
+     *
+     * @param order Column and direction
+     * @return This query
+     */
+    public Query<T> orderBy(Order<T> order) {
+        orders.add(order);
+        return this;
+    }
+
+    /**
+     * Limits the number of records returned
+     *
+     * @param limit Maximum number of records (at least 1)
+     * @return This query
+     */
+    public Query<T> limit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Query limit must be at least 1");
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Queries the records on trash instead of the others
+     *
+     * @return This query
+     */
+    public Query<T> onTrash() {
+        this.onTrash = true;
+        return this;
+    }
+
+    /**
+     * Runs the query
+     *
+     * @return Records found, empty if none matches, or null if the query
+     * failed
+     */
+    public List<T> list() {
+        return dao.find(this);
+    }
+
+    /**
+     * Runs the query for its first record
+     *
+     * @return First record found, or null if none was found or the query
+     * failed
+     */
+    public T first() {
+        limit(1);
+        List<T> found = list();
+        return found == null || found.isEmpty() ? null : found.get(0);
+    }
+
+    // Identifies the SQL text of this query; the generated columns are
+    // singletons, so the key compares by identity without building strings
+    List<Object> shape() {
+        List<Object> shape = new ArrayList<>(conditions.size() * 2 + orders.size() * 2 + 2);
+        for (Condition<T> condition : conditions) {
+            shape.add(condition.column);
+            shape.add(condition.operator == Operator.IN ? condition.values.length : condition.operator);
+        }
+        for (Order<T> order : orders) {
+            shape.add(order.column);
+            shape.add(order.ascending);
+        }
+        shape.add(limit > 0);
+        shape.add(onTrash);
+        return shape;
+    }
+
+    /**
+     * Appends the conditions, ordering and limit to the find all statement
+     * of the DAO
+     *
+     * @param findAllStatement Statement selecting every record of the
+     * queried trash state, ending with its WHERE clause
+     * @return SQL statement
+     */
+    String compile(String findAllStatement) {
+        StringBuilder sql = new StringBuilder(findAllStatement);
+
+        for (Condition<T> condition : conditions) {
+            sql.append(" AND ").append(condition.column.reference);
+            if (condition.operator == Operator.IN) {
+                sql.append(" IN (").append(Dao.placeholders(condition.values.length)).append(')');
+            } else {
+                sql.append(condition.operator.sql);
+            }
+        }
+
+        for (int i = 0; i < orders.size(); i++) {
+            Order<T> order = orders.get(i);
+            sql.append(i == 0 ? " ORDER BY " : ", ")
+                    .append(order.column.reference)
+                    .append(order.ascending ? " ASC" : " DESC");
+        }
+
+        if (limit > 0) {
+            sql.append(" LIMIT ?");
+        }
+        return sql.toString();
+    }
+
+    void bind(PreparedStatement preparedStatement) throws SQLException {
+        int index = 1;
+        for (Condition<T> condition : conditions) {
+            for (Object value : condition.values) {
+                condition.column.bind(preparedStatement, index++, value);
+            }
+        }
+        if (limit > 0) {
+            preparedStatement.setInt(index, limit);
+        }
+    }
+
+    boolean isOnTrash() {
+        return onTrash;
+    }
+
+    /**
+     * Typed column of an entity, generated as a constant of its mapping
+     *
+     * @param <E> Entity type
+     * @param <V> Value type
+     */
+    public static final class Column<E extends Entity, V> {
+
+        private final String reference;
+        private final int sqlType;
+
+        /**
+         * Creates a column; used by the generated mappings
+         *
+         * @param reference Column as written in a SELECT of the entity
+         * @param sqlType {@link Types} constant used to bind values, or
+         * {@link Types#OTHER} to let the driver choose
+         */
+        public Column(String reference, int sqlType) {
+            this.reference = reference;
+            this.sqlType = sqlType;
+        }
+
+        public Condition<E> eq(V value) {
+            return compare(Operator.EQ, value);
+        }
+
+        public Condition<E> ne(V value) {
+            return compare(Operator.NE, value);
+        }
+
+        public Condition<E> lt(V value) {
+            return compare(Operator.LT, value);
+        }
+
+        public Condition<E> le(V value) {
+            return compare(Operator.LE, value);
+        }
+
+        public Condition<E> gt(V value) {
+            return compare(Operator.GT, value);
+        }
+
+        public Condition<E> ge(V value) {
+            return compare(Operator.GE, value);
+        }
+
+        /**
+         * Matches a LIKE pattern, with {@code %} and {@code _} as wildcards
+         *
+         * @param pattern LIKE pattern
+         * @return Condition
+         */
+        public Condition<E> like(String pattern) {
+            return new Condition<>(this, Operator.LIKE, requireValue(pattern));
+        }
+
+        /**
+         * Matches values in the closed range
+         *
+         * @param from Lowest value
+         * @param to Highest value
+         * @return Condition
+         */
+        public Condition<E> between(V from, V to) {
+            return new Condition<>(this, Operator.BETWEEN, requireValue(from), requireValue(to));
+        }
+
+        public Condition<E> in(Collection<? extends V> values) {
+            if (values.isEmpty()) {
+                throw new IllegalArgumentException("IN needs at least one value");
+            }
+            Object[] copy = values.toArray();
+            for (Object value : copy) {
+                requireValue(value);
+            }
+            return new Condition<>(this, Operator.IN, copy);
+        }
+
+        public Condition<E> isNull() {
+            return new Condition<>(this, Operator.IS_NULL);
+        }
+
+        public Condition<E> isNotNull() {
+            return new Condition<>(this, Operator.IS_NOT_NULL);
+        }
+
+        public Order<E> asc() {
+            return new Order<>(this, true);
+        }
+
+        public Order<E> desc() {
+            return new Order<>(this, false);
+        }
+
+        private Condition<E> compare(Operator operator, V value) {
+            return new Condition<>(this, operator, requireValue(value));
+        }
+
+        // SQL comparisons with NULL are never true; isNull() says it plainly
+        private Object requireValue(Object value) {
+            if (value == null) {
+                throw new IllegalArgumentException("Null value for " + reference + "; use isNull()");
+            }
+            return value;
+        }
+
+        private void bind(PreparedStatement preparedStatement, int index, Object value) throws SQLException {
+            if (sqlType == Types.OTHER) {
+                preparedStatement.setObject(index, value);
+            } else {
+                preparedStatement.setObject(index, value, sqlType);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return reference;
+        }
+    }
+
+    /**
+     * Condition on one column
+     *
+     * @param <E> Entity type
+     */
+    public static final class Condition<E extends Entity> {
+
+        private final Column<E, ?> column;
+        private final Operator operator;
+        private final Object[] values;
+
+        private Condition(Column<E, ?> column, Operator operator, Object... values) {
+            this.column = column;
+            this.operator = operator;
+            this.values = values;
+        }
+    }
+
+    /**
+     * Sort key
+     *
+     * @param <E> Entity type
+     */
+    public static final class Order<E extends Entity> {
+
+        private final Column<E, ?> column;
+        private final boolean ascending;
+
+        private Order(Column<E, ?> column, boolean ascending) {
+            this.column = column;
+            this.ascending = ascending;
+        }
+    }
+}
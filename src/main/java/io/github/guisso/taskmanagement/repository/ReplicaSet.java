@@ -0,0 +1,190 @@
+/*
+ * CC BY-NC-SA 4.0
+ *
+ * Copyright 2022 Luis Guisso &lt;luis dot guisso at ifnmg dot edu dot br&gt;.
+ *
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ *
+ * You are free to:
+ *   Share - copy and redistribute the material in any medium or format
+ *   Adapt - remix, transform, and build upon the material
+ *
+ * Under the following terms:
+ *   Attribution - You must give appropriate credit, provide 
+ *   a link to the license, and indicate if changes were made.
+ *   You may do so in any reasonable manner, but not in any 
+ *   way that suggests the licensor endorses you or your use.
+ *   NonCommercial - You may not use the material for commercial purposes.
+ *   ShareAlike - If you remix, transform, or build upon the 
+ *   material, you must distribute your contributions under 
+ *   the same license as the original.
+ *   No additional restrictions - You may not apply legal 
+ *   terms or technological measures that legally restrict 
+ *   others from doing anything the license permits.
+ *
+ * Notices:
+ *   You do not have to comply with the license for elements 
+ *   of the material in the public domain or where your use 
+ *   is permitted by an applicable exception or limitation.
+ *   No warranties are given. The license may not give you 
+ *   all of the permissions necessary for your intended use. 
+ *   For example, other rights such as publicity, privacy, 
+ *   or moral rights may limit how you use the material.
+ */
+package io.github.guisso.taskmanagement.repository;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Class ReplicaSet
+ *
+ * Pools of the read replicas behind {@link DbConnection#getReadConnection()}.
+ * Each read borrows from the healthy replica with the fewest borrowed
+ * connections, ties rotating round-robin. A replica that cannot open or
+ * validate a connection is taken out of rotation until a periodic health
+ * check finds it valid again. A replica whose pool is merely exhausted
+ * stays in rotation: the read waits for it only for the short replica
+ * borrow timeout, then tries the other replicas. With no replica able to
+ * lend a connection, reads fall back to the primary.
+ *
+ * @version 0.1, 2026-10-17
+ */
+final class ReplicaSet implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(ReplicaSet.class.getName());
+
+    // Seconds a health check waits for a replica to answer
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+
+    ReplicaSet(List<String> urls, String user, String password,
+            int minSize, int maxSize, long borrowTimeoutMillis,
+            long idleTimeoutMillis, long leakDetectionThresholdMillis,
+            int statementCacheSize, long healthCheckIntervalMillis,
+            Supplier<CircuitBreaker> circuitBreakers) {
+        for (String url : urls) {
+            replicas.add(new Replica(url, new ConnectionPool(url, user, password,
+                    minSize, maxSize, borrowTimeoutMillis, idleTimeoutMillis,
+                    leakDetectionThresholdMillis, statementCacheSize,
+                    circuitBreakers.get())));
+        }
+
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecker.scheduleWithFixedDelay(this::checkHealth,
+                healthCheckIntervalMillis, healthCheckIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection from the least busy healthy replica
+     *
+     * @return Replica connection, or null if no replica could lend one
+     */
+    Connection borrow() {
+        int count = replicas.size();
+        int offset = Math.floorMod(next.getAndIncrement(), count);
+
+        // Replicas already tried by this read
+        boolean[] tried = new boolean[count];
+
+        for (int attempt = 0; attempt < count; attempt++) {
+            int chosen = -1;
+            for (int i = 0; i < count; i++) {
+                int index = (offset + i) % count;
+                Replica replica = replicas.get(index);
+                if (replica.healthy && !tried[index] && (chosen < 0
+                        || replica.pool.getBorrowedCount() < replicas.get(chosen).pool.getBorrowedCount())) {
+                    chosen = index;
+                }
+            }
+            if (chosen < 0) {
+                return null;
+            }
+
+            tried[chosen] = true;
+            Replica replica = replicas.get(chosen);
+            try {
+                return replica.pool.borrow();
+            } catch (SQLTimeoutException ex) {
+                // Saturated, not failed: left in rotation
+                LOGGER.log(Level.FINE, "Replica " + replica.url + " busy: " + ex);
+            } catch (SQLException ex) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return null;
+                }
+                replica.healthy = false;
+                LOGGER.log(Level.WARNING, "Replica " + replica.url + " taken out of rotation: " + ex);
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Gets the health of every replica as of the last check or borrow
+     *
+     * @return True (healthy) or false by replica URL
+     */
+    Map<String, Boolean> getHealth() {
+        Map<String, Boolean> health = new LinkedHashMap<>();
+        replicas.forEach(replica -> health.put(replica.url, replica.healthy));
+        return health;
+    }
+
+    @Override
+    public void close() {
+        healthChecker.shutdownNow();
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.pool.borrow()) {
+                healthy = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLTimeoutException ex) {
+                // Every connection is in use, so the replica is answering
+                continue;
+            } catch (SQLException | RuntimeException ex) {
+                healthy = false;
+            }
+
+            if (healthy != replica.healthy) {
+                LOGGER.log(Level.INFO, "Replica " + replica.url
+                        + (healthy ? " back in rotation" : " failed its health check"));
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    private static final class Replica {
+
+        private final String url;
+        private final ConnectionPool pool;
+        private volatile boolean healthy = true;
+
+        private Replica(String url, ConnectionPool pool) {
+            this.url = url;
+            this.pool = pool;
+        }
+    }
+}
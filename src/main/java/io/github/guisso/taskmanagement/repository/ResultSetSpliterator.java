@@ -0,0 +1,127 @@
+/*
+ * CC BY-NC-SA 4.0
+ *
+ * Copyright 2022 Luis Guisso &lt;luis dot guisso at ifnmg dot edu dot br&gt;.
+ *
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ *
+ * You are free to:
+ *   Share - copy and redistribute the material in any medium or format
+ *   Adapt - remix, transform, and build upon the material
+ *
+ * Under the following terms:
+ *   Attribution - You must give appropriate credit, provide 
+ *   a link to the license, and indicate if changes were made.
+ *   You may do so in any reasonable manner, but not in any 
+ *   way that suggests the licensor endorses you or your use.
+ *   NonCommercial - You may not use the material for commercial purposes.
+ *   ShareAlike - If you remix, transform, or build upon the 
+ *   material, you must distribute your contributions under 
+ *   the same license as the original.
+ *   No additional restrictions - You may not apply legal 
+ *   terms or technological measures that legally restrict 
+ *   others from doing anything the license permits.
+ *
+ * Notices:
+ *   You do not have to comply with the license for elements 
+ *   of the material in the public domain or where your use 
+ *   is permitted by an applicable exception or limitation.
+ *   No warranties are given. The license may not give you 
+ *   all of the permissions necessary for your intended use. 
+ *   For example, other rights such as publicity, privacy, 
+ *   or moral rights may limit how you use the material.
+ */
+package io.github.guisso.taskmanagement.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Class ResultSetSpliterator
+ *
+ * Maps the rows of an open ResultSet one at a time, as the stream pulls
+ * them. The cursor and everything it depends on are released as soon as
+ * the last row is read or the stream is closed, whichever comes first.
+ *
+ * @param <T> Mapped type
+ * @version 0.1, 2026-10-17
+ */
+class ResultSetSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+
+    private static final Logger LOGGER = Logger.getLogger(ResultSetSpliterator.class.getName());
+
+    private final ResultSet resultSet;
+    private final RowMapper<T> mapper;
+    private final AutoCloseable[] resources;
+    private boolean closed;
+    private long rows;
+
+    /**
+     * @param resultSet Open cursor
+     * @param mapper Row mapper
+     * @param resources Resources to close after the cursor, in order
+     */
+    ResultSetSpliterator(ResultSet resultSet, RowMapper<T> mapper, AutoCloseable... resources) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        this.resultSet = resultSet;
+        this.mapper = mapper;
+        this.resources = resources;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (closed) {
+            return false;
+        }
+
+        try {
+            if (!resultSet.next()) {
+                close();
+                return false;
+            }
+            action.accept(mapper.map(resultSet));
+            rows++;
+            return true;
+        } catch (SQLException ex) {
+            close();
+            throw new DataAccessException("Failed reading streamed row", ex);
+        }
+    }
+
+    /**
+     * Gets the number of rows consumed so far
+     *
+     * @return Rows read
+     */
+    long getRows() {
+        return rows;
+    }
+
+    /**
+     * Closes the cursor and the resources behind it; safe to call twice
+     */
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        closeQuietly(resultSet);
+        for (AutoCloseable resource : resources) {
+            closeQuietly(resource);
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable resource) {
+        try {
+            resource.close();
+        } catch (Exception ex) {
+            LOGGER.log(Level.FINE, "Error closing streamed resource", ex);
+        }
+    }
+}
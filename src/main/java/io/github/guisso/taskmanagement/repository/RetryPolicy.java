@@ -0,0 +1,164 @@
+/*
+ * CC BY-NC-SA 4.0
+ *
+ * Copyright 2022 Luis Guisso &lt;luis dot guisso at ifnmg dot edu dot br&gt;.
+ *
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ *
+ * You are free to:
+ *   Share - copy and redistribute the material in any medium or format
+ *   Adapt - remix, transform, and build upon the material
+ *
+ * Under the following terms:
+ *   Attribution - You must give appropriate credit, provide 
+ *   a link to the license, and indicate if changes were made.
+ *   You may do so in any reasonable manner, but not in any 
+ *   way that suggests the licensor endorses you or your use.
+ *   NonCommercial - You may not use the material for commercial purposes.
+ *   ShareAlike - If you remix, transform, or build upon the 
+ *   material, you must distribute your contributions under 
+ *   the same license as the original.
+ *   No additional restrictions - You may not apply legal 
+ *   terms or technological measures that legally restrict 
+ *   others from doing anything the license permits.
+ *
+ * Notices:
+ *   You do not have to comply with the license for elements 
+ *   of the material in the public domain or where your use 
+ *   is permitted by an applicable exception or limitation.
+ *   No warranties are given. The license may not give you 
+ *   all of the permissions necessary for your intended use. 
+ *   For example, other rights such as publicity, privacy, 
+ *   or moral rights may limit how you use the material.
+ */
+package io.github.guisso.taskmanagement.repository;
+
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Class RetryPolicy
+ *
+ * Retries idempotent database calls, the DAO reads, that failed for a
+ * transient reason: a broken or refused connection (SQLState class 08,
+ * or any connection exception, since drivers such as MySQL Connector/J and
+ * H2 report a refused connection as {@link SQLNonTransientConnectionException})
+ * or a deadlock/serialization failure (40001). Waits between attempts grow
+ * exponentially with full jitter, so clients do not retry in lockstep.
+ *
+ * Never retried: writes (not idempotent), timeouts (the database is slow,
+ * not gone, and retrying adds load) and {@link CircuitOpenException} (the
+ * point of the open circuit is to fail fast).
+ *
+ * @version 0.1, 2026-10-17
+ */
+public final class RetryPolicy {
+
+    /**
+     * Single attempt, no retry
+     */
+    public static final RetryPolicy NONE = new RetryPolicy(1, Duration.ZERO, Duration.ZERO);
+
+    /**
+     * Call retried by {@link #call(SqlCall)}
+     *
+     * @param <R> Result type
+     */
+    @FunctionalInterface
+    public interface SqlCall<R> {
+
+        R call() throws SQLException;
+    }
+
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    /**
+     * Creates a retry policy
+     *
+     * @param maxAttempts Attempts in total, including the first
+     * @param initialBackoff Longest wait before the first retry
+     * @param maxBackoff Longest wait before any retry
+     */
+    public RetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+        if (maxAttempts < 1 || initialBackoff.isNegative() || maxBackoff.compareTo(initialBackoff) < 0) {
+            throw new IllegalArgumentException("Invalid retry policy settings");
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    /**
+     * Runs the call, retrying it on transient failures
+     *
+     * @param <R> Result type
+     * @param call Idempotent call
+     * @return Result of the first successful attempt
+     * @throws SQLException Failure of the last attempt, or the first
+     * failure that is not transient
+     */
+    public <R> R call(SqlCall<R> call) throws SQLException {
+        for (int attempt = 1;; attempt++) {
+            try {
+                return call.call();
+            } catch (SQLException ex) {
+                if (attempt >= maxAttempts || !isRetryable(ex)) {
+                    throw ex;
+                }
+                try {
+                    Thread.sleep(backoffMillis(attempt));
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    /**
+     * Tells whether a failure is worth retrying
+     *
+     * @param ex Failure
+     * @return True for connection failures and deadlocks
+     */
+    public static boolean isRetryable(SQLException ex) {
+        if (ex instanceof CircuitOpenException || ex instanceof SQLTimeoutException) {
+            return false;
+        }
+        if (ex instanceof SQLTransientConnectionException
+                || ex instanceof SQLNonTransientConnectionException
+                || ex instanceof SQLRecoverableException) {
+            return true;
+        }
+        String state = ex.getSQLState();
+        return state != null && (state.startsWith("08") || state.equals("40001"));
+    }
+
+    // Full jitter: uniform between zero and the exponential backoff
+    private long backoffMillis(int attempt) {
+        long ceiling = Math.min(maxBackoff.toMillis(),
+                initialBackoff.toMillis() << Math.min(attempt - 1, 30));
+        return ceiling <= 0 ? 0L : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Getters">
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+    //</editor-fold>
+}
@@ -0,0 +1,133 @@
+/*
+ * CC BY-NC-SA 4.0
+ *
+ * Copyright 2022 Luis Guisso &lt;luis dot guisso at ifnmg dot edu dot br&gt;.
+ *
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ *
+ * You are free to:
+ *   Share - copy and redistribute the material in any medium or format
+ *   Adapt - remix, transform, and build upon the material
+ *
+ * Under the following terms:
+ *   Attribution - You must give appropriate credit, provide 
+ *   a link to the license, and indicate if changes were made.
+ *   You may do so in any reasonable manner, but not in any 
+ *   way that suggests the licensor endorses you or your use.
+ *   NonCommercial - You may not use the material for commercial purposes.
+ *   ShareAlike - If you remix, transform, or build upon the 
+ *   material, you must distribute your contributions under 
+ *   the same license as the original.
+ *   No additional restrictions - You may not apply legal 
+ *   terms or technological measures that legally restrict 
+ *   others from doing anything the license permits.
+ *
+ * Notices:
+ *   You do not have to comply with the license for elements 
+ *   of the material in the public domain or where your use 
+ *   is permitted by an applicable exception or limitation.
+ *   No warranties are given. The license may not give you 
+ *   all of the permissions necessary for your intended use. 
+ *   For example, other rights such as publicity, privacy, 
+ *   or moral rights may limit how you use the material.
+ */
+package io.github.guisso.taskmanagement.repository;
+
+import io.github.guisso.taskmanagement.entity.Entity;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class SecondLevelCache
+ *
+ * Process-wide registry of {@link EntityCache} regions, one per entity
+ * class. It is disabled for every class until configured:
+ *
+ * <pre>
+ * SecondLevelCache.configure(Task.class, 10_000, Duration.ofMinutes(5),
+ *         EntityCache.EvictionPolicy.TINY_LFU);
+ * </pre>
+ *
+ * {@link Dao#findById(Long)} then reads through the region, and the DAO
+ * write operations invalidate the entries they touch.
+ *
+ * @version 0.1, 2026-10-17
+ */
+public class SecondLevelCache {
+
+    private static final Map<Class<?>, EntityCache<?>> REGIONS = new ConcurrentHashMap<>();
+
+    /**
+     * Enables (or replaces) the cache region of an entity class
+     *
+     * @param <T> Entity data type
+     * @param type Entity class
+     * @param maxSize Maximum number of cached entities
+     * @param timeToLive Time an entity stays cached after being loaded
+     * @param policy Eviction policy
+     * @return Configured region
+     */
+    public static <T extends Entity> EntityCache<T> configure(Class<T> type, int maxSize,
+            Duration timeToLive, EntityCache.EvictionPolicy policy) {
+        EntityCache<T> region = new EntityCache<>(maxSize, timeToLive, policy);
+        REGIONS.put(type, region);
+        return region;
+    }
+
+    /**
+     * Disables the cache region of an entity class
+     *
+     * @param type Entity class
+     */
+    public static void disable(Class<? extends Entity> type) {
+        REGIONS.remove(type);
+    }
+
+    /**
+     * Gets the cache region of an entity class
+     *
+     * @param <T> Entity data type
+     * @param type Entity class
+     * @return Region or null if caching is disabled for the class
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Entity> EntityCache<T> region(Class<T> type) {
+        return (EntityCache<T>) REGIONS.get(type);
+    }
+
+    /**
+     * Invalidates an ID in the region of the class and of its subclasses,
+     * since a subtype row shares the ID of its parent row
+     *
+     * @param type Entity class written
+     * @param id Record ID
+     */
+    public static void invalidate(Class<? extends Entity> type, Long id) {
+        if (REGIONS.isEmpty()) {
+            return;
+        }
+        REGIONS.forEach((regionType, region) -> {
+            if (type.isAssignableFrom(regionType)) {
+                region.invalidate(id);
+            }
+        });
+    }
+
+    /**
+     * Takes a snapshot of the statistics of every configured region
+     *
+     * @return Statistics by entity class name
+     */
+    public static Map<String, EntityCache.Statistics> getStatistics() {
+        Map<String, EntityCache.Statistics> statistics = new LinkedHashMap<>();
+        REGIONS.forEach((type, region) -> statistics.put(type.getName(), region.getStatistics()));
+        return statistics;
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Private constructor">
+    private SecondLevelCache() {
+    }
+    //</editor-fold>
+}
@@ -0,0 +1,173 @@
+/*
+ * CC BY-NC-SA 4.0
+ *
+ * Copyright 2022 Luis Guisso &lt;luis dot guisso at ifnmg dot edu dot br&gt;.
+ *
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ *
+ * You are free to:
+ *   Share - copy and redistribute the material in any medium or format
+ *   Adapt - remix, transform, and build upon the material
+ *
+ * Under the following terms:
+ *   Attribution - You must give appropriate credit, provide 
+ *   a link to the license, and indicate if changes were made.
+ *   You may do so in any reasonable manner, but not in any 
+ *   way that suggests the licensor endorses you or your use.
+ *   NonCommercial - You may not use the material for commercial purposes.
+ *   ShareAlike - If you remix, transform, or build upon the 
+ *   material, you must distribute your contributions under 
+ *   the same license as the original.
+ *   No additional restrictions - You may not apply legal 
+ *   terms or technological measures that legally restrict 
+ *   others from doing anything the license permits.
+ *
+ * Notices:
+ *   You do not have to comply with the license for elements 
+ *   of the material in the public domain or where your use 
+ *   is permitted by an applicable exception or limitation.
+ *   No warranties are given. The license may not give you 
+ *   all of the permissions necessary for your intended use. 
+ *   For example, other rights such as publicity, privacy, 
+ *   or moral rights may limit how you use the material.
+ */
+package io.github.guisso.taskmanagement.repository;
+
+import io.github.guisso.taskmanagement.entity.Entity;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Class Session
+ *
+ * Identity map scoped to a unit of work on the current thread. While a
+ * session is open, {@link Dao#findById(Long)} returns the same instance for
+ * the same ID without querying the database again, and the DAO write
+ * operations keep the map up to date.
+ *
+ * <pre>
+ * try (Session session = Session.open()) {
+ *     Task a = taskDao.findById(1L);  // SELECT
+ *     Task b = taskDao.findById(1L);  // no query, a == b
+ * }
+ * </pre>
+ *
+ * Sessions are not thread-safe; each thread opens its own. Opening a session
+ * inside another one starts a fresh scope until the inner one is closed.
+ *
+ * @version 0.1, 2026-10-17
+ */
+public class Session implements AutoCloseable {
+
+    private static final ThreadLocal<Session> CURRENT = new ThreadLocal<>();
+
+    // Entities loaded or saved in this session, by DAO type and ID
+    private final Map<Class<?>, Map<Long, Entity>> identityMap = new HashMap<>();
+
+    // Session that was current when this one was opened
+    private final Session outer;
+
+    private boolean closed;
+
+    private Session(Session outer) {
+        this.outer = outer;
+    }
+
+    /**
+     * Opens a session and binds it to the current thread
+     *
+     * @return New session, to be closed at the end of the unit of work
+     */
+    public static Session open() {
+        Session session = new Session(CURRENT.get());
+        CURRENT.set(session);
+        return session;
+    }
+
+    /**
+     * Gets the session bound to the current thread
+     *
+     * @return Current session or null if none is open
+     */
+    public static Session current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Forgets every entity held by this session
+     */
+    public void clear() {
+        identityMap.clear();
+    }
+
+    /**
+     * Gets the number of entities held by this session
+     *
+     * @return Number of entities
+     */
+    public int size() {
+        int size = 0;
+        for (Map<Long, Entity> entities : identityMap.values()) {
+            size += entities.size();
+        }
+        return size;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        identityMap.clear();
+
+        if (CURRENT.get() == this) {
+            if (outer == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(outer);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    <T extends Entity> T find(Dao<T> dao, Long id) {
+        Map<Long, Entity> entities = identityMap.get(dao.getClass());
+        return entities == null ? null : (T) entities.get(id);
+    }
+
+    /**
+     * Registers an entity, keeping the instance already held for the same
+     * ID if there is one
+     *
+     * @return Instance held by the session for that ID
+     */
+    @SuppressWarnings("unchecked")
+    <T extends Entity> T attach(Dao<T> dao, Long id, T entity) {
+        if (id == null || entity == null) {
+            return entity;
+        }
+        Entity held = entities(dao).putIfAbsent(id, entity);
+        return held == null ? entity : (T) held;
+    }
+
+    /**
+     * Registers an entity, replacing any instance held for the same ID
+     */
+    <T extends Entity> void put(Dao<T> dao, Long id, T entity) {
+        if (id != null && id > 0) {
+            entities(dao).put(id, entity);
+        }
+    }
+
+    <T extends Entity> void remove(Dao<T> dao, Long id) {
+        Map<Long, Entity> entities = identityMap.get(dao.getClass());
+        if (entities != null) {
+            entities.remove(id);
+        }
+    }
+
+    private Map<Long, Entity> entities(Dao<?> dao) {
+        return identityMap.computeIfAbsent(dao.getClass(), k -> new HashMap<>());
+    }
+}
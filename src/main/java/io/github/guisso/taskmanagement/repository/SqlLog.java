@@ -0,0 +1,379 @@
+/*
+ * CC BY-NC-SA 4.0
+ *
+ * Copyright 2022 Luis Guisso &lt;luis dot guisso at ifnmg dot edu dot br&gt;.
+ *
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ *
+ * You are free to:
+ *   Share - copy and redistribute the material in any medium or format
+ *   Adapt - remix, transform, and build upon the material
+ *
+ * Under the following terms:
+ *   Attribution - You must give appropriate credit, provide 
+ *   a link to the license, and indicate if changes were made.
+ *   You may do so in any reasonable manner, but not in any 
+ *   way that suggests the licensor endorses you or your use.
+ *   NonCommercial - You may not use the material for commercial purposes.
+ *   ShareAlike - If you remix, transform, or build upon the 
+ *   material, you must distribute your contributions under 
+ *   the same license as the original.
+ *   No additional restrictions - You may not apply legal 
+ *   terms or technological measures that legally restrict 
+ *   others from doing anything the license permits.
+ *
+ * Notices:
+ *   You do not have to comply with the license for elements 
+ *   of the material in the public domain or where your use 
+ *   is permitted by an applicable exception or limitation.
+ *   No warranties are given. The license may not give you 
+ *   all of the permissions necessary for your intended use. 
+ *   For example, other rights such as publicity, privacy, 
+ *   or moral rights may limit how you use the material.
+ */
+package io.github.guisso.taskmanagement.repository;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Class SqlLog
+ *
+ * Statement logging hook of the connection pool. It is disabled by default:
+ * statements are then handed to the DAOs untouched, so nothing is recorded,
+ * timed or rendered. Once a {@link SqlLogger} is installed:
+ *
+ * <ul>
+ * <li>a fraction {@code sampleRate} of the statements is logged;</li>
+ * <li>statements slower than the slow query threshold are always
+ * logged, flagged as slow;</li>
+ * <li>parameters bound to masked columns ({@code password} by default)
+ * are replaced by {@link #MASK} before reaching the logger, as are all
+ * the parameters of stored procedure calls, whose SQL names no column.</li>
+ * </ul>
+ *
+ * <pre>
+ * SqlLog.setLogger(SqlLogger.jul());
+ * SqlLog.setSampleRate(0.01);
+ * SqlLog.setSlowQueryThreshold(Duration.ofMillis(200));
+ * </pre>
+ *
+ * @version 0.1, 2026-10-17
+ */
+public final class SqlLog {
+
+    /**
+     * Value logged in place of masked parameters
+     */
+    public static final String MASK = "****";
+
+    // Limit for the per-SQL parameter name cache
+    private static final int MAX_PARSED_STATEMENTS = 1_024;
+
+    private static final Pattern INSERT = Pattern.compile(
+            "(?is)^\\s*INSERT\\s+INTO\\s+\\S+\\s*\\(([^)]*)\\)\\s*VALUES\\s*\\(");
+
+    private static volatile SqlLogger logger;
+    private static volatile double sampleRate = 1.0;
+    private static volatile long slowQueryThresholdNanos = -1L;
+    private static volatile Set<String> maskedColumns = Collections.singleton("password");
+
+    private static final Map<String, String[]> PARAMETER_NAMES = new ConcurrentHashMap<>();
+
+    /**
+     * Installs the logger; null disables logging
+     *
+     * @param sqlLogger Logger or null
+     */
+    public static void setLogger(SqlLogger sqlLogger) {
+        logger = sqlLogger;
+    }
+
+    public static SqlLogger getLogger() {
+        return logger;
+    }
+
+    public static boolean isEnabled() {
+        return logger != null;
+    }
+
+    /**
+     * Sets the fraction of statements logged regardless of their duration
+     *
+     * @param rate From 0.0 (only slow statements) to 1.0 (every statement)
+     */
+    public static void setSampleRate(double rate) {
+        if (rate < 0.0 || rate > 1.0) {
+            throw new IllegalArgumentException("Sample rate must be between 0 and 1");
+        }
+        sampleRate = rate;
+    }
+
+    /**
+     * Sets the duration from which a statement is always logged as slow
+     *
+     * @param threshold Threshold, or null to disable slow query detection
+     */
+    public static void setSlowQueryThreshold(Duration threshold) {
+        slowQueryThresholdNanos = threshold == null ? -1L : threshold.toNanos();
+    }
+
+    /**
+     * Sets the columns whose parameters are masked in the log
+     *
+     * @param columns Column names, case insensitive
+     */
+    public static void setMaskedColumns(String... columns) {
+        Set<String> masked = new HashSet<>();
+        for (String column : columns) {
+            masked.add(column.toLowerCase(Locale.ROOT));
+        }
+        maskedColumns = Collections.unmodifiableSet(masked);
+    }
+
+    // Also consulted by the ChangeFeed, so a column is masked in both or neither
+    static boolean isMasked(String column) {
+        return maskedColumns.contains(column.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Wraps a statement so its executions are logged, if logging is enabled
+     * and the statement was selected by sampling or slow query detection
+     *
+     * @param statement Prepared statement
+     * @param sql SQL used to prepare it
+     * @return The same statement when nothing is to be logged
+     */
+    static PreparedStatement wrap(PreparedStatement statement, String sql) {
+        return wrap(statement, sql, PreparedStatement.class, false);
+    }
+
+    /**
+     * Wraps a stored procedure call as {@link #wrap(PreparedStatement, String)}
+     * does a statement; every parameter of the call is masked
+     *
+     * @param statement Callable statement
+     * @param sql SQL used to prepare it
+     * @return The same statement when nothing is to be logged
+     */
+    static CallableStatement wrap(CallableStatement statement, String sql) {
+        return wrap(statement, sql, CallableStatement.class, true);
+    }
+
+    private static <S extends PreparedStatement> S wrap(S statement, String sql,
+            Class<S> type, boolean call) {
+        SqlLogger current = logger;
+        if (current == null) {
+            return statement;
+        }
+
+        double rate = sampleRate;
+        boolean sampled = rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+        if (!sampled && slowQueryThresholdNanos < 0) {
+            return statement;
+        }
+
+        return type.cast(Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class<?>[]{type},
+                new Recorder(statement, sql, sampled, current, call)));
+    }
+
+    /**
+     * Guesses the column each placeholder is compared with or assigned to
+     *
+     * @param sql SQL statement
+     * @return Lower case column names by parameter position (null if unknown)
+     */
+    static String[] parameterNames(String sql) {
+        String[] names = PARAMETER_NAMES.get(sql);
+        if (names == null) {
+            names = parseParameterNames(sql);
+            if (PARAMETER_NAMES.size() >= MAX_PARSED_STATEMENTS) {
+                PARAMETER_NAMES.clear();
+            }
+            PARAMETER_NAMES.put(sql, names);
+        }
+        return names;
+    }
+
+    private static String[] parseParameterNames(String sql) {
+        String[] names = new String[count(sql)];
+
+        Matcher insert = INSERT.matcher(sql);
+        if (insert.find()) {
+            String[] columns = insert.group(1).split(",");
+            for (int i = 0; i < columns.length && i < names.length; i++) {
+                names[i] = column(columns[i].trim());
+            }
+            return names;
+        }
+
+        int parameter = 0;
+        for (int i = 0; i < sql.length() && parameter < names.length; i++) {
+            if (sql.charAt(i) == '?') {
+                names[parameter++] = columnBefore(sql, i);
+            }
+        }
+        return names;
+    }
+
+    // Walks back over operators, IN lists and LIKE/IN keywords to a column
+    private static String columnBefore(String sql, int position) {
+        int i = position - 1;
+        while (true) {
+            while (i >= 0 && "=<>!?,( \t\r\n".indexOf(sql.charAt(i)) >= 0) {
+                i--;
+            }
+            int end = i + 1;
+            while (i >= 0 && (Character.isLetterOrDigit(sql.charAt(i)) || "_.`".indexOf(sql.charAt(i)) >= 0)) {
+                i--;
+            }
+            String word = sql.substring(i + 1, end);
+            String upper = word.toUpperCase(Locale.ROOT);
+            if (!upper.equals("LIKE") && !upper.equals("IN") && !upper.equals("NOT")) {
+                return word.isEmpty() ? null : column(word);
+            }
+        }
+    }
+
+    private static String column(String name) {
+        String column = name.replace("`", "");
+        int dot = column.lastIndexOf('.');
+        return (dot >= 0 ? column.substring(dot + 1) : column).toLowerCase(Locale.ROOT);
+    }
+
+    private static int count(String sql) {
+        int count = 0;
+        boolean quoted = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (c == '?' && !quoted) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Records bound parameters and times executions of one statement
+     */
+    private static final class Recorder implements InvocationHandler {
+
+        private final PreparedStatement statement;
+        private final String sql;
+        private final boolean sampled;
+        private final SqlLogger sqlLogger;
+        private final Object[] parameters;
+        private final boolean call;
+        private int batched;
+
+        private Recorder(PreparedStatement statement, String sql, boolean sampled,
+                SqlLogger sqlLogger, boolean call) {
+            this.statement = statement;
+            this.sql = sql;
+            this.sampled = sampled;
+            this.sqlLogger = sqlLogger;
+            this.call = call;
+            this.parameters = new Object[parameterNames(sql).length];
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "clearParameters":
+                    Arrays.fill(parameters, null);
+                    break;
+                case "addBatch":
+                    batched++;
+                    break;
+                case "clearBatch":
+                    batched = 0;
+                    break;
+                default:
+                    if (name.startsWith("set") && args != null && args.length >= 2
+                            && args[0] instanceof Integer) {
+                        int index = (Integer) args[0] - 1;
+                        if (index >= 0 && index < parameters.length) {
+                            parameters[index] = name.equals("setNull") ? null : args[1];
+                        }
+                    } else if (name.startsWith("execute")) {
+                        return execute(method, args, name.contains("Batch"));
+                    }
+                    break;
+            }
+
+            return invokeTarget(method, args);
+        }
+
+        private Object execute(Method method, Object[] args, boolean batch) throws Throwable {
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                Object result = invokeTarget(method, args);
+                failed = false;
+                return result;
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                long threshold = slowQueryThresholdNanos;
+                boolean slow = threshold >= 0 && elapsed >= threshold;
+
+                if (sampled || slow) {
+                    sqlLogger.log(new SqlLogRecord(sql, masked(), elapsed, slow,
+                            batch ? batched : 0, failed));
+                }
+                if (batch) {
+                    batched = 0;
+                }
+            }
+        }
+
+        private Object[] masked() {
+            String[] names = parameterNames(sql);
+            Set<String> masked = maskedColumns;
+            Object[] copy = parameters.clone();
+            for (int i = 0; i < copy.length; i++) {
+                if (call || (names[i] != null && masked.contains(names[i]))) {
+                    copy[i] = MASK;
+                }
+            }
+            return copy;
+        }
+
+        private Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(statement, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Private constructor">
+    private SqlLog() {
+    }
+    //</editor-fold>
+}
@@ -0,0 +1,161 @@
+/*
+ * CC BY-NC-SA 4.0
+ *
+ * Copyright 2022 Luis Guisso &lt;luis dot guisso at ifnmg dot edu dot br&gt;.
+ *
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ *
+ * You are free to:
+ *   Share - copy and redistribute the material in any medium or format
+ *   Adapt - remix, transform, and build upon the material
+ *
+ * Under the following terms:
+ *   Attribution - You must give appropriate credit, provide 
+ *   a link to the license, and indicate if changes were made.
+ *   You may do so in any reasonable manner, but not in any 
+ *   way that suggests the licensor endorses you or your use.
+ *   NonCommercial - You may not use the material for commercial purposes.
+ *   ShareAlike - If you remix, transform, or build upon the 
+ *   material, you must distribute your contributions under 
+ *   the same license as the original.
+ *   No additional restrictions - You may not apply legal 
+ *   terms or technological measures that legally restrict 
+ *   others from doing anything the license permits.
+ *
+ * Notices:
+ *   You do not have to comply with the license for elements 
+ *   of the material in the public domain or where your use 
+ *   is permitted by an applicable exception or limitation.
+ *   No warranties are given. The license may not give you 
+ *   all of the permissions necessary for your intended use. 
+ *   For example, other rights such as publicity, privacy, 
+ *   or moral rights may limit how you use the material.
+ */
+package io.github.guisso.taskmanagement.repository;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class SqlLogRecord
+ *
+ * One executed statement as reported to a {@link SqlLogger}. Parameters of
+ * masked columns are already replaced by {@link SqlLog#MASK}.
+ *
+ * @version 0.1, 2026-10-17
+ */
+public class SqlLogRecord {
+
+    private final String sql;
+    private final Object[] parameters;
+    private final long elapsedNanos;
+    private final boolean slow;
+    private final int batchSize;
+    private final boolean failed;
+
+    SqlLogRecord(String sql, Object[] parameters, long elapsedNanos,
+            boolean slow, int batchSize, boolean failed) {
+        this.sql = sql;
+        this.parameters = parameters;
+        this.elapsedNanos = elapsedNanos;
+        this.slow = slow;
+        this.batchSize = batchSize;
+        this.failed = failed;
+    }
+
+    // <editor-fold defaultstate="collapsed" desc="Getters">
+    /**
+     * Gets the SQL text with its placeholders
+     *
+     * @return SQL statement
+     */
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * Gets the parameters bound by the last execution, masked
+     *
+     * @return Parameters by position (index 0 is parameter 1)
+     */
+    public List<Object> getParameters() {
+        return Arrays.asList(parameters);
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getElapsedMillis() {
+        return elapsedNanos / 1e6;
+    }
+
+    /**
+     * Tells whether the statement took longer than the slow query threshold
+     *
+     * @return True if slow
+     */
+    public boolean isSlow() {
+        return slow;
+    }
+
+    /**
+     * Gets the number of rows sent by executeBatch(), or 0 for a single
+     * execution
+     *
+     * @return Batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+    // </editor-fold>
+
+    /**
+     * Renders the SQL with the parameters in place of the placeholders
+     *
+     * @return SQL ready to be read (not to be executed)
+     */
+    public String render() {
+        StringBuilder sb = new StringBuilder(sql.length() + parameters.length * 8);
+        int next = 0;
+        boolean quoted = false;
+
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            if (c == '?' && !quoted && next < parameters.length) {
+                sb.append(format(parameters[next++]));
+            } else {
+                sb.append(c);
+            }
+        }
+
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[%.3f ms]%s%s %s%s",
+                getElapsedMillis(),
+                slow ? " SLOW" : "",
+                failed ? " FAILED" : "",
+                render(),
+                batchSize > 0 ? " (batch of " + batchSize + ")" : "");
+    }
+
+    private static String format(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof Number || value instanceof Boolean || value == SqlLog.MASK) {
+            return String.valueOf(value);
+        }
+        return "'" + String.valueOf(value).replace("'", "''") + "'";
+    }
+}
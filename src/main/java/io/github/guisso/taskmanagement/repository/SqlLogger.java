@@ -0,0 +1,77 @@
+/*
+ * CC BY-NC-SA 4.0
+ *
+ * Copyright 2022 Luis Guisso &lt;luis dot guisso at ifnmg dot edu dot br&gt;.
+ *
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ *
+ * You are free to:
+ *   Share - copy and redistribute the material in any medium or format
+ *   Adapt - remix, transform, and build upon the material
+ *
+ * Under the following terms:
+ *   Attribution - You must give appropriate credit, provide 
+ *   a link to the license, and indicate if changes were made.
+ *   You may do so in any reasonable manner, but not in any 
+ *   way that suggests the licensor endorses you or your use.
+ *   NonCommercial - You may not use the material for commercial purposes.
+ *   ShareAlike - If you remix, transform, or build upon the 
+ *   material, you must distribute your contributions under 
+ *   the same license as the original.
+ *   No additional restrictions - You may not apply legal 
+ *   terms or technological measures that legally restrict 
+ *   others from doing anything the license permits.
+ *
+ * Notices:
+ *   You do not have to comply with the license for elements 
+ *   of the material in the public domain or where your use 
+ *   is permitted by an applicable exception or limitation.
+ *   No warranties are given. The license may not give you 
+ *   all of the permissions necessary for your intended use. 
+ *   For example, other rights such as publicity, privacy, 
+ *   or moral rights may limit how you use the material.
+ */
+package io.github.guisso.taskmanagement.repository;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Interface SqlLogger
+ *
+ * Receives the statements selected by {@link SqlLog}. Implementations are
+ * only called when logging is enabled, and the SQL text with its bound
+ * parameters is rendered only if they ask for it.
+ *
+ * @version 0.1, 2026-10-17
+ */
+@FunctionalInterface
+public interface SqlLogger {
+
+    public void log(SqlLogRecord record);
+
+    /**
+     * Logger printing to standard output in the historical
+     * {@code >> SQL:} format
+     *
+     * @return Standard output logger
+     */
+    public static SqlLogger stdout() {
+        return record -> System.out.println(">> SQL: " + record);
+    }
+
+    /**
+     * Logger writing to java.util.logging, slow statements as warnings
+     *
+     * @return java.util.logging logger
+     */
+    public static SqlLogger jul() {
+        Logger logger = Logger.getLogger(SqlLogger.class.getName());
+        return record -> {
+            Level level = record.isSlow() ? Level.WARNING : Level.FINE;
+            if (logger.isLoggable(level)) {
+                logger.log(level, record.toString());
+            }
+        };
+    }
+}
@@ -0,0 +1,353 @@
+/*
+ * CC BY-NC-SA 4.0
+ *
+ * Copyright 2022 Luis Guisso &lt;luis dot guisso at ifnmg dot edu dot br&gt;.
+ *
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ *
+ * You are free to:
+ *   Share - copy and redistribute the material in any medium or format
+ *   Adapt - remix, transform, and build upon the material
+ *
+ * Under the following terms:
+ *   Attribution - You must give appropriate credit, provide 
+ *   a link to the license, and indicate if changes were made.
+ *   You may do so in any reasonable manner, but not in any 
+ *   way that suggests the licensor endorses you or your use.
+ *   NonCommercial - You may not use the material for commercial purposes.
+ *   ShareAlike - If you remix, transform, or build upon the 
+ *   material, you must distribute your contributions under 
+ *   the same license as the original.
+ *   No additional restrictions - You may not apply legal 
+ *   terms or technological measures that legally restrict 
+ *   others from doing anything the license permits.
+ *
+ * Notices:
+ *   You do not have to comply with the license for elements 
+ *   of the material in the public domain or where your use 
+ *   is permitted by an applicable exception or limitation.
+ *   No warranties are given. The license may not give you 
+ *   all of the permissions necessary for your intended use. 
+ *   For example, other rights such as publicity, privacy, 
+ *   or moral rights may limit how you use the material.
+ */
+package io.github.guisso.taskmanagement.repository;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Class StatementCache
+ *
+ * LRU cache of prepared statements bound to one physical connection and
+ * keyed by the SQL string returned by the DAOs. Statements handed out are
+ * proxies: closing them clears their parameters and pending batch, resets
+ * their query timeout and fetch size, and puts them back in the cache
+ * instead of closing the driver statement.
+ *
+ * @version 0.1, 2026-10-17
+ */
+public class StatementCache {
+
+    private static final Logger LOGGER = Logger.getLogger(StatementCache.class.getName());
+
+    private final Connection physical;
+    private final int maxSize;
+    private final Statistics statistics;
+    private final Map<Key, Entry> entries;
+
+    StatementCache(Connection physical, int maxSize, Statistics statistics) {
+        this.physical = physical;
+        this.maxSize = maxSize;
+        this.statistics = statistics;
+        this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() <= StatementCache.this.maxSize) {
+                    return false;
+                }
+                evict(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Gets a prepared statement for the SQL, reusing a cached one when it
+     * is not already in use
+     *
+     * @param sql SQL statement
+     * @param autoGeneratedKeys {@link Statement#RETURN_GENERATED_KEYS} or
+     * {@link Statement#NO_GENERATED_KEYS}
+     * @return Statement to be closed as usual after use
+     * @throws SQLException If the driver fails to prepare the statement
+     */
+    synchronized PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+        Key key = new Key(sql, autoGeneratedKeys);
+        Entry entry = entries.get(key);
+
+        if (entry != null && !entry.inUse) {
+            statistics.hits.increment();
+        } else {
+            statistics.misses.increment();
+            PreparedStatement statement = physical.prepareStatement(sql, autoGeneratedKeys);
+
+            if (entry != null) {
+                // Same SQL already checked out on this connection: not cached
+                return statement;
+            }
+
+            entry = new Entry(statement, statement.getFetchSize());
+            entries.put(key, entry);
+        }
+
+        entry.inUse = true;
+        return entry.checkout();
+    }
+
+    /**
+     * Closes every cached statement
+     */
+    synchronized void clear() {
+        for (Entry entry : entries.values()) {
+            entry.closePhysical();
+        }
+        entries.clear();
+    }
+
+    private void evict(Entry entry) {
+        statistics.evictions.increment();
+        entry.evicted = true;
+        if (!entry.inUse) {
+            entry.closePhysical();
+        }
+    }
+
+    private synchronized void checkin(Handle handle) {
+        Entry entry = handle.entry;
+        if (entry == null) {
+            return;
+        }
+        handle.entry = null;
+        entry.owner = null;
+        entry.inUse = false;
+        try {
+            if (entry.evicted) {
+                entry.closePhysical();
+            } else {
+                entry.statement.clearParameters();
+                // Rows added by a batch that failed before executing
+                entry.statement.clearBatch();
+                entry.statement.clearWarnings();
+                if (entry.statement.getFetchSize() != entry.fetchSize) {
+                    entry.statement.setFetchSize(entry.fetchSize);
+                }
+                if (entry.statement.getQueryTimeout() != 0) {
+                    entry.statement.setQueryTimeout(0);
+                }
+            }
+        } catch (SQLException ex) {
+            entry.closePhysical();
+            entries.values().remove(entry);
+        }
+    }
+
+    /**
+     * Hit, miss and eviction counters shared by the caches of one pool
+     */
+    public static class Statistics {
+
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+
+        public long getHits() {
+            return hits.sum();
+        }
+
+        public long getMisses() {
+            return misses.sum();
+        }
+
+        public long getEvictions() {
+            return evictions.sum();
+        }
+
+        public double getHitRatio() {
+            long h = getHits();
+            long total = h + getMisses();
+            return total == 0 ? 0.0 : (double) h / total;
+        }
+
+        @Override
+        public String toString() {
+            return "StatementCache{hits=" + getHits()
+                    + ", misses=" + getMisses()
+                    + ", evictions=" + getEvictions() + '}';
+        }
+    }
+
+    private static final class Key {
+
+        private final String sql;
+        private final int autoGeneratedKeys;
+
+        private Key(String sql, int autoGeneratedKeys) {
+            this.sql = sql;
+            this.autoGeneratedKeys = autoGeneratedKeys;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return autoGeneratedKeys == other.autoGeneratedKeys && sql.equals(other.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sql, autoGeneratedKeys);
+        }
+    }
+
+    private final class Entry {
+
+        private final PreparedStatement statement;
+
+        // Driver default, restored after callers such as streamAll change it
+        private final int fetchSize;
+
+        private boolean inUse;
+        private boolean evicted;
+
+        // Handle of the caller the statement is lent to, if any
+        private Handle owner;
+
+        private Entry(PreparedStatement statement, int fetchSize) {
+            this.statement = statement;
+            this.fetchSize = fetchSize;
+        }
+
+        private PreparedStatement checkout() {
+            owner = new Handle(this);
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    owner);
+        }
+
+        private void closePhysical() {
+            try {
+                statement.close();
+            } catch (SQLException ex) {
+                LOGGER.log(Level.FINE, "Error closing cached statement", ex);
+            }
+        }
+    }
+
+    /**
+     * Statement lent to one caller; closing it returns it to the cache
+     */
+    private final class Handle implements InvocationHandler {
+
+        // Read by the deadline timer thread through isClosed and cancel
+        private volatile Entry entry;
+        private ResultSet lastResultSet;
+
+        private Handle(Entry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    close((Statement) proxy);
+                    return null;
+                case "cancel":
+                    cancel();
+                    return null;
+                case "isClosed":
+                    return entry == null;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return entry == null ? "[closed]" : entry.statement.toString();
+                default:
+                    break;
+            }
+
+            if (entry == null) {
+                throw new SQLException("Statement has already been closed");
+            }
+
+            Object result;
+            try {
+                result = method.invoke(entry.statement, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+
+            if (result instanceof ResultSet) {
+                if (lastResultSet != result) {
+                    closeResultSet();
+                }
+                lastResultSet = (ResultSet) result;
+            }
+
+            return result;
+        }
+
+        private void close(Statement proxy) throws SQLException {
+            if (entry == null) {
+                return;
+            }
+            // Forgotten before it can be lent again, so no deadline of this
+            // caller cancels the next one
+            Deadline.release(proxy);
+            try {
+                closeResultSet();
+            } finally {
+                checkin(this);
+            }
+        }
+
+        // Under the cache lock, so the statement cannot be checked in and
+        // lent to another caller between the ownership check and the cancel
+        private void cancel() throws SQLException {
+            synchronized (StatementCache.this) {
+                Entry owned = entry;
+                if (owned != null && owned.owner == this) {
+                    owned.statement.cancel();
+                }
+            }
+        }
+
+        private void closeResultSet() throws SQLException {
+            if (lastResultSet != null) {
+                lastResultSet.close();
+                lastResultSet = null;
+            }
+        }
+    }
+}
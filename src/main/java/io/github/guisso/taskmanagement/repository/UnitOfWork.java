@@ -0,0 +1,441 @@
+/*
+ * CC BY-NC-SA 4.0
+ *
+ * Copyright 2022 Luis Guisso &lt;luis dot guisso at ifnmg dot edu dot br&gt;.
+ *
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ *
+ * You are free to:
+ *   Share - copy and redistribute the material in any medium or format
+ *   Adapt - remix, transform, and build upon the material
+ *
+ * Under the following terms:
+ *   Attribution - You must give appropriate credit, provide 
+ *   a link to the license, and indicate if changes were made.
+ *   You may do so in any reasonable manner, but not in any 
+ *   way that suggests the licensor endorses you or your use.
+ *   NonCommercial - You may not use the material for commercial purposes.
+ *   ShareAlike - If you remix, transform, or build upon the 
+ *   material, you must distribute your contributions under 
+ *   the same license as the original.
+ *   No additional restrictions - You may not apply legal 
+ *   terms or technological measures that legally restrict 
+ *   others from doing anything the license permits.
+ *
+ * Notices:
+ *   You do not have to comply with the license for elements 
+ *   of the material in the public domain or where your use 
+ *   is permitted by an applicable exception or limitation.
+ *   No warranties are given. The license may not give you 
+ *   all of the permissions necessary for your intended use. 
+ *   For example, other rights such as publicity, privacy, 
+ *   or moral rights may limit how you use the material.
+ */
+package io.github.guisso.taskmanagement.repository;
+
+import io.github.guisso.taskmanagement.entity.Entity;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Class UnitOfWork
+ *
+ * Explicit transaction bound to the current thread. While
+ * {@link #inTransaction(Work)} runs, every DAO call made by the thread
+ * borrows the same connection (through {@link DbConnection#getConnection()})
+ * with auto-commit off, so all its writes are committed once, or rolled
+ * back together if any of them fails.
+ *
+ * Entities queued with {@link #save(Dao, Entity)} and
+ * {@link #delete(Dao, Long)} are written at {@link #flush()} or at commit
+ * with JDBC batches, one group per DAO. Inserts and updates run supertypes
+ * first (a task before the special task that joins it) and deletes run in
+ * the reverse order, so joined tables are always written in dependency
+ * order.
+ *
+ * <pre>
+ * UnitOfWork.inTransaction(unit -&gt; {
+ *     unit.save(taskDao, task);
+ *     unit.save(specialTaskDao, specialTask);
+ *     return null;
+ * });
+ * </pre>
+ *
+ * @version 0.1, 2026-10-17
+ */
+public final class UnitOfWork {
+
+    /**
+     * Work run by {@link #inTransaction(Work)}
+     *
+     * @param <R> Result type
+     */
+    @FunctionalInterface
+    public interface Work<R> {
+
+        R run(UnitOfWork unit) throws Exception;
+    }
+
+    private static final Logger LOGGER = Logger.getLogger(UnitOfWork.class.getName());
+
+    private static final ThreadLocal<UnitOfWork> CURRENT = new ThreadLocal<>();
+
+    // Pooled connection owned by the unit and the non-closing view handed to DAOs
+    private final Connection connection;
+    private final Connection view;
+
+    // Queued writes by DAO class, in registration order
+    private final Map<Class<?>, Pending<?>> pending = new LinkedHashMap<>();
+
+    private final List<Runnable> afterCompletion = new ArrayList<>();
+
+    private final List<Runnable> afterCommit = new ArrayList<>();
+
+    private Exception rollbackCause;
+    private boolean rollbackOnly;
+
+    private UnitOfWork(Connection connection) throws SQLException {
+        this.connection = connection;
+        this.view = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new View());
+        connection.setAutoCommit(false);
+    }
+
+    /**
+     * Runs the work in a transaction and commits it, flushing the queued
+     * writes first. If the work throws, or any DAO write inside it fails,
+     * the whole transaction is rolled back. A call made inside another unit
+     * joins it; only the outermost call commits.
+     *
+     * @param <R> Result type
+     * @param work Work to run
+     * @return Result of the work
+     * @throws DataAccessException If the work or the commit failed; the
+     * transaction has been rolled back
+     */
+    public static <R> R inTransaction(Work<R> work) {
+        UnitOfWork outer = CURRENT.get();
+        if (outer != null) {
+            try {
+                return work.run(outer);
+            } catch (Exception ex) {
+                outer.failed(ex);
+                throw wrap(ex);
+            }
+        }
+
+        Connection connection;
+        try {
+            connection = DbConnection.getPool().borrow();
+        } catch (SQLException ex) {
+            throw new DataAccessException("Cannot begin transaction", ex);
+        }
+
+        UnitOfWork unit;
+        try {
+            unit = new UnitOfWork(connection);
+        } catch (SQLException | RuntimeException ex) {
+            // No unit to close it, so the connection goes back to the pool here
+            try {
+                connection.close();
+            } catch (SQLException closing) {
+                ex.addSuppressed(closing);
+            }
+            throw new DataAccessException("Cannot begin transaction", ex);
+        }
+
+        CURRENT.set(unit);
+        try {
+            R result = work.run(unit);
+            unit.commit();
+            return result;
+        } catch (Exception ex) {
+            unit.rollback(ex);
+            throw wrap(ex);
+        } finally {
+            CURRENT.remove();
+            unit.close();
+        }
+    }
+
+    /**
+     * Gets the unit running on the current thread
+     *
+     * @return Current unit or null outside {@link #inTransaction(Work)}
+     */
+    public static UnitOfWork current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Queues an insert (entity without ID) or update (entity with ID)
+     *
+     * @param <T> Entity type
+     * @param dao DAO of the entity
+     * @param entity Entity to write at flush
+     */
+    public <T extends Entity> void save(Dao<T> dao, T entity) {
+        pendingOf(dao).save(entity);
+    }
+
+    /**
+     * Queues a delete
+     *
+     * @param <T> Entity type
+     * @param dao DAO of the entity
+     * @param id Record ID
+     */
+    public <T extends Entity> void delete(Dao<T> dao, Long id) {
+        pendingOf(dao).delete(id);
+    }
+
+    /**
+     * Writes the queued entities now, inside the transaction, so later
+     * queries see them and new entities get their IDs
+     *
+     * @throws DataAccessException If a write failed; the unit will roll back
+     */
+    public void flush() {
+        List<Pending<?>> groups = new ArrayList<>(pending.values());
+        pending.clear();
+
+        // Supertypes first: a joined subtype row references its supertype row
+        groups.sort(Comparator.comparingInt(group -> depth(group.dao.getEntityType())));
+
+        for (Pending<?> group : groups) {
+            group.writeSaves();
+        }
+        for (int i = groups.size() - 1; i >= 0; i--) {
+            groups.get(i).writeDeletes();
+        }
+
+        if (rollbackCause != null) {
+            throw new DataAccessException("Flush failed", rollbackCause);
+        }
+    }
+
+    /**
+     * Makes the unit roll back instead of committing
+     */
+    public void setRollbackOnly() {
+        rollbackOnly = true;
+    }
+
+    public boolean isRollbackOnly() {
+        return rollbackOnly || rollbackCause != null;
+    }
+
+    /**
+     * Gets the connection DAOs use while the unit runs; closing it does
+     * nothing
+     *
+     * @return Non-closing view of the unit connection
+     */
+    Connection getConnection() {
+        return view;
+    }
+
+    /**
+     * Records a failed write; the unit will roll back
+     *
+     * @param cause Failure
+     */
+    void failed(Exception cause) {
+        if (rollbackCause == null) {
+            rollbackCause = cause;
+        }
+    }
+
+    /**
+     * Registers an action run after commit or rollback, such as cache
+     * invalidations that must not race with uncommitted data
+     *
+     * @param action Action to run
+     */
+    public void afterCompletion(Runnable action) {
+        afterCompletion.add(action);
+    }
+
+    /**
+     * Registers an action run only once the unit has committed, such as
+     * announcing its writes to others; a rollback discards it
+     *
+     * @param action Action to run
+     */
+    public void afterCommit(Runnable action) {
+        afterCommit.add(action);
+    }
+
+    private void commit() throws SQLException {
+        if (rollbackCause != null) {
+            throw new DataAccessException("Transaction rolled back", rollbackCause);
+        }
+
+        flush();
+
+        if (rollbackOnly) {
+            rollback(null);
+            return;
+        }
+
+        connection.commit();
+        complete(true);
+    }
+
+    // A failed rollback leaves the transaction to the database; when the
+    // rollback answers a failure, its error travels with that failure
+    private void rollback(Exception failure) {
+        pending.clear();
+        try {
+            connection.rollback();
+        } catch (SQLException ex) {
+            LOGGER.log(Level.SEVERE, "Transaction rollback failed", ex);
+            if (failure != null) {
+                failure.addSuppressed(ex);
+            }
+        }
+        complete(false);
+    }
+
+    private void complete(boolean committed) {
+        List<Runnable> actions = new ArrayList<>(afterCompletion);
+        if (committed) {
+            actions.addAll(afterCommit);
+        }
+        afterCompletion.clear();
+        afterCommit.clear();
+        actions.forEach(Runnable::run);
+    }
+
+    private void close() {
+        try {
+            connection.setAutoCommit(true);
+        } catch (SQLException ex) {
+            LOGGER.log(Level.WARNING, "Could not restore auto-commit", ex);
+        }
+        try {
+            connection.close();
+        } catch (SQLException ex) {
+            LOGGER.log(Level.WARNING, "Could not return the transaction connection", ex);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Entity> Pending<T> pendingOf(Dao<T> dao) {
+        return (Pending<T>) pending.computeIfAbsent(dao.getClass(), type -> new Pending<>(dao));
+    }
+
+    private static int depth(Class<?> type) {
+        int depth = 0;
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            depth++;
+        }
+        return depth;
+    }
+
+    private static DataAccessException wrap(Exception ex) {
+        return ex instanceof DataAccessException
+                ? (DataAccessException) ex
+                : new DataAccessException("Transaction rolled back", ex);
+    }
+
+    /**
+     * Writes queued for one DAO
+     */
+    private static final class Pending<T extends Entity> {
+
+        private final Dao<T> dao;
+        private final Set<T> inserts = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final Map<Long, T> updates = new LinkedHashMap<>();
+        private final Set<Long> deletes = new LinkedHashSet<>();
+
+        private Pending(Dao<T> dao) {
+            this.dao = dao;
+        }
+
+        private void save(T entity) {
+            if (entity.getId() == null || entity.getId() <= 0) {
+                inserts.add(entity);
+            } else {
+                updates.put(entity.getId(), entity);
+                deletes.remove(entity.getId());
+            }
+        }
+
+        private void delete(Long id) {
+            updates.remove(id);
+            deletes.add(id);
+        }
+
+        private void writeSaves() {
+            if (!inserts.isEmpty()) {
+                dao.saveAll(new ArrayList<>(inserts));
+            }
+            if (!updates.isEmpty()) {
+                dao.updateAll(new ArrayList<>(updates.values()));
+            }
+        }
+
+        private void writeDeletes() {
+            if (!deletes.isEmpty()) {
+                dao.deleteAll(new ArrayList<>(deletes));
+            }
+        }
+    }
+
+    /**
+     * Connection view that leaves closing and transaction control to the
+     * unit
+     */
+    private final class View implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    return null;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "UnitOfWork" + connection;
+                case "commit":
+                    throw new SQLException("Commit is managed by UnitOfWork");
+                case "rollback":
+                    if (args == null) {
+                        throw new SQLException("Rollback is managed by UnitOfWork");
+                    }
+                    break;
+                case "setAutoCommit":
+                    if ((Boolean) args[0]) {
+                        throw new SQLException("Auto-commit is managed by UnitOfWork");
+                    }
+                    break;
+                default:
+                    break;
+            }
+
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+    }
+}
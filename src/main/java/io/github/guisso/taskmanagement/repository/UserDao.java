@@ -1,11 +1,10 @@
 package io.github.guisso.taskmanagement.repository;
 
 import io.github.guisso.taskmanagement.entity.User;
+import io.github.guisso.taskmanagement.entity.UserMapping;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -18,138 +17,123 @@ public class UserDao extends Dao<User> {
 
     @Override
     public String getSaveStatment() {
-        return "INSERT INTO users (name, email, password, last_access, active) VALUES (?, ?, ?, ?, ?)";
+        return UserMapping.INSERT_SQL;
     }
 
     @Override
     public String getUpdateStatment() {
-        return "UPDATE users SET name = ?, email = ?, password = ?, last_access = ?, active = ? WHERE id = ?";
+        return UserMapping.UPDATE_SQL;
     }
 
     @Override
     public String getDeleteStatement() {
-        return "DELETE FROM users WHERE id = ?";
+        return UserMapping.DELETE_SQL;
     }
 
     @Override
     public String getFindByIdStatment() {
-        return "SELECT id, name, email, password, last_access, active FROM users WHERE id = ?";
+        return UserMapping.FIND_BY_ID_SQL;
+    }
+
+    @Override
+    public String getFindByIdsStatement(int count) {
+        return UserMapping.findByIdsSql(count);
+    }
+
+    @Override
+    protected User copy(User user) {
+        return UserMapping.copy(user);
     }
 
     @Override
     public String getFindAllStatment() {
-        return "SELECT id, name, email, password, last_access, active FROM users";
+        return UserMapping.FIND_ALL_NOT_ON_TRASH_SQL;
     }
 
     @Override
     public void composeSaveOrUpdateStatement(PreparedStatement preparedStatement, User user) throws SQLException {
-        // Validações de tamanho
-        if (user.getName().length() > 150) {
-            throw new SQLException("Name cannot exceed 150 characters");
-        }
-        if (user.getEmail().length() > 255) {
-            throw new SQLException("Email cannot exceed 255 characters");
-        }
-        if (user.getPassword().length() != 64) {
-            throw new SQLException("Password must be exactly 64 characters long");
-        }
-
-        preparedStatement.setString(1, user.getName());
-        preparedStatement.setString(2, user.getEmail());
-        preparedStatement.setString(3, user.getPassword());
-        preparedStatement.setObject(4, user.getLastAccess()); // Tratamento para LocalDate
-        preparedStatement.setBoolean(5, user.isActive());
+        validate(user);
 
-        // Se for um update, definir o ID
+        // Se for um update, o ID entra como último parâmetro
         if (user.getId() != null && user.getId() > 0) {
-            preparedStatement.setLong(6, user.getId());
+            UserMapping.bindUpdate(preparedStatement, user);
+        } else {
+            UserMapping.bindInsert(preparedStatement, user);
         }
     }
 
     @Override
-    public User extractObject(ResultSet resultSet) throws SQLException {
-        User user = new User();
+    protected Object[] captureState(User user) {
+        return UserMapping.state(user);
+    }
 
-        user.setId(resultSet.getLong("id"));
-        user.setName(resultSet.getString("name"));
-        user.setEmail(resultSet.getString("email"));
-        user.setPassword(resultSet.getString("password"));
-        user.setLastAccess(resultSet.getObject("last_access", LocalDate.class));
-        user.setActive(resultSet.getBoolean("active"));
+    @Override
+    protected List<String> getStateColumns() {
+        return UserMapping.STATE_COLUMNS;
+    }
 
-        return user;
+    @Override
+    protected String getUpdateStatement(boolean[] dirty) {
+        return UserMapping.updateSql(dirty);
     }
 
     @Override
-    public List<User> extractObjects(ResultSet resultSet) throws SQLException {
-        List<User> users = new ArrayList<>();
+    protected void composeUpdateStatement(PreparedStatement preparedStatement, User user,
+            boolean[] dirty) throws SQLException {
+        validate(user);
+        UserMapping.bindUpdate(preparedStatement, user, dirty);
+    }
 
-        while (resultSet.next()) {
-            users.add(extractObject(resultSet));
+    // Validações de tamanho
+    private static void validate(User user) throws SQLException {
+        if (user.getName().length() > 150) {
+            throw new SQLException("Name cannot exceed 150 characters");
+        }
+        if (user.getEmail().length() > 255) {
+            throw new SQLException("Email cannot exceed 255 characters");
+        }
+        if (user.getPassword().length() != 64) {
+            throw new SQLException("Password must be exactly 64 characters long");
         }
-
-        return users;
     }
 
     @Override
-    public String getMoveToTrashStatement() {
-        return "UPDATE users SET deleted = true WHERE id = ?";
+    public User extractObject(ResultSet resultSet) throws SQLException {
+        return UserMapping.rowMapper(resultSet).map(resultSet);
     }
 
     @Override
-    public void moveToTrash(User user) {
-        try (PreparedStatement preparedStatement = DbConnection.getConnection().prepareStatement(
-            getMoveToTrashStatement())) {
-        
-        preparedStatement.setLong(1, user.getId());
-        System.out.println(">> SQL: " + preparedStatement);
-        preparedStatement.executeUpdate();
-        
-    } catch (Exception ex) {
-        System.out.println("Exception: " + ex);
-    }
+    public RowMapper<User> createRowMapper(ResultSet resultSet) throws SQLException {
+        return UserMapping.rowMapper(resultSet);
     }
 
     @Override
-    public String getRestoreFromTrashStatement() {
-        return "UPDATE users SET deleted = false WHERE id = ?";
+    public String getMoveToTrashStatement() {
+        return UserMapping.MOVE_TO_TRASH_SQL;
     }
 
     @Override
-    public void restoreFromTrash(Long id) {
-         try (PreparedStatement preparedStatement = DbConnection.getConnection().prepareStatement(
-            getRestoreFromTrashStatement())) {
-        
-        preparedStatement.setLong(1, id);
-        System.out.println(">> SQL: " + preparedStatement);
-        preparedStatement.executeUpdate();
-        
-    } catch (Exception ex) {
-        System.out.println("Exception: " + ex);
-    }
+    public String getRestoreFromTrashStatement() {
+        return UserMapping.RESTORE_FROM_TRASH_SQL;
     }
 
     @Override
     public String getFindAllOnTrashStatement() {
-        return "SELECT id, name, email, password, last_access, active FROM users WHERE deleted = true";
+        return UserMapping.FIND_ALL_ON_TRASH_SQL;
     }
 
     @Override
-    public List<User> findAllOnTrash() {
-        List<User> users = new ArrayList<>();
+    public String getFindPageStatement() {
+        return UserMapping.FIND_PAGE_SQL;
+    }
 
-    try (PreparedStatement preparedStatement = DbConnection.getConnection().prepareStatement(
-            getFindAllOnTrashStatement())) {
-        
-        System.out.println(">> SQL: " + preparedStatement);
-        ResultSet resultSet = preparedStatement.executeQuery();
-        
-        return extractObjects(resultSet);
-        
-    } catch (Exception ex) {
-        System.out.println("Exception: " + ex);
+    @Override
+    public String getFindPageOnTrashStatement() {
+        return UserMapping.FIND_PAGE_ON_TRASH_SQL;
     }
 
-    return users;
+    @Override
+    protected String getProjectionStatement(List<String> columns, boolean page) {
+        return UserMapping.projectionSql(columns, false, page);
     }
 }
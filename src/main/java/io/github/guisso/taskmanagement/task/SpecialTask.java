@@ -33,14 +33,19 @@
  */
 package io.github.guisso.taskmanagement.task;
 
+import io.github.guisso.taskmanagement.mapping.Column;
+import io.github.guisso.taskmanagement.mapping.Table;
+
 /**
  * Special task
  * 
  * @author Luis Guisso &lt;luis.guisso at ifnmg.edu.br&gt;
  * @version 0.2, 2024-08-29
  */
+@Table(value = "tarefaespecial", trashColumn = "excluido")
 public class SpecialTask extends Task {
 
+    @Column("especial")
     private boolean special;
 
     // <editor-fold defaultstate="collapsed" desc="Getters/Setters">
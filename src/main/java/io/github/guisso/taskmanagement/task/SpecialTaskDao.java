@@ -34,15 +34,27 @@
 package io.github.guisso.taskmanagement.task;
 
 import io.github.guisso.taskmanagement.repository.Dao;
+import io.github.guisso.taskmanagement.repository.DaoMetrics;
+import io.github.guisso.taskmanagement.repository.DataAccessException;
 import io.github.guisso.taskmanagement.repository.DbConnection;
+import io.github.guisso.taskmanagement.repository.RowMapper;
+import io.github.guisso.taskmanagement.repository.UnitOfWork;
+import java.sql.CallableStatement;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.time.LocalDate;
+import java.sql.Statement;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Classe SpecialTaskDao
@@ -65,68 +77,479 @@ import java.util.logging.Logger;
  */
 public class SpecialTaskDao extends Dao<SpecialTask> {
 
-    public static final String TABLE = "tarefaespecial";
+    public static final String TABLE = SpecialTaskMapping.TABLE;
+
+    /**
+     * How a single special task reaches the database
+     */
+    public enum WriteMode {
+        /**
+         * Task and special rows through separate statements in one
+         * transaction; works on any database
+         */
+        STATEMENTS,
+        /**
+         * MySQL/MariaDB: the insert is sent as one multi-statement string
+         * (needs {@link DbConnection#setAllowMultiQueries(boolean)}) that
+         * carries its own transaction, and the update as one multi-table
+         * UPDATE
+         */
+        MULTI_STATEMENT,
+        /**
+         * MySQL/MariaDB: one call to the {@value #SAVE_PROCEDURE} stored
+         * procedure, created by the V3 schema migration
+         */
+        STORED_PROCEDURE
+    }
+
+    public static final String SAVE_PROCEDURE = "special_task_save";
+
+    // Parameters 1-5 are the task columns in TaskMapping.bindInsert order,
+    // 6 is especial and, where present, 7 is the ID
+    private static final String MULTI_STATEMENT_INSERT_SQL = TaskMapping.INSERT_SQL
+            + "; INSERT INTO " + TABLE + " (id, especial) VALUES (LAST_INSERT_ID(), ?)";
+
+    // Used outside a unit of work, where the string must commit by itself
+    private static final String MULTI_STATEMENT_TRANSACTION_SQL = "START TRANSACTION; "
+            + MULTI_STATEMENT_INSERT_SQL + "; COMMIT; SELECT LAST_INSERT_ID()";
+
+    // Used inside a unit of work, which commits
+    private static final String MULTI_STATEMENT_UNIT_SQL = MULTI_STATEMENT_INSERT_SQL
+            + "; SELECT LAST_INSERT_ID()";
+
+    private static final String JOINED_UPDATE_SQL = "UPDATE " + TaskMapping.TABLE
+            + " INNER JOIN " + TABLE + " ON " + TaskMapping.TABLE + ".id = " + TABLE + ".id"
+            + " SET " + TaskMapping.TABLE + ".name = ?, " + TaskMapping.TABLE + ".email = ?, "
+            + TaskMapping.TABLE + ".password = ?, " + TaskMapping.TABLE + ".last_access = ?, "
+            + TaskMapping.TABLE + ".active = ?, " + TABLE + ".especial = ?"
+            + " WHERE " + TaskMapping.TABLE + ".id = ?";
+
+    private static final String SAVE_PROCEDURE_CALL = "{CALL " + SAVE_PROCEDURE + "(?, ?, ?, ?, ?, ?, ?)}";
+
+    // Null: STORED_PROCEDURE on MySQL/MariaDB, STATEMENTS elsewhere
+    private static volatile WriteMode writeMode;
+
+    // Number of task columns at the start of the captured state
+    private static final int TASK_COLUMNS = TaskMapping.STATE_COLUMNS.size();
+
+    // Task columns followed by the special ones, as in captureState
+    private static final List<String> STATE_COLUMNS = Stream.concat(
+            TaskMapping.STATE_COLUMNS.stream(), SpecialTaskMapping.STATE_COLUMNS.stream())
+            .collect(Collectors.toUnmodifiableList());
+
+    private final TaskDao taskDao = new TaskRows();
+
+    /**
+     * Gets the write mode in use: the one set, or by default
+     * {@link WriteMode#STORED_PROCEDURE} on MySQL/MariaDB and
+     * {@link WriteMode#STATEMENTS} on other databases
+     *
+     * @return Write mode
+     */
+    public static WriteMode getWriteMode() {
+        WriteMode mode = writeMode;
+        if (mode != null) {
+            return mode;
+        }
+        String url = DbConnection.getUrl();
+        return url != null && (url.startsWith("jdbc:mysql:") || url.startsWith("jdbc:mariadb:"))
+                ? WriteMode.STORED_PROCEDURE
+                : WriteMode.STATEMENTS;
+    }
+
+    /**
+     * Chooses how single special tasks are written. The MySQL modes send the
+     * task and special rows in one round trip instead of two.
+     *
+     * @param mode Write mode, or null for the default of the database
+     */
+    public static void setWriteMode(WriteMode mode) {
+        writeMode = mode;
+    }
 
     @Override
     public String getSaveStatment() {
-        return "INSERT INTO " + TABLE + " (id, especial) VALUES (?, ?)";
+        return SpecialTaskMapping.INSERT_SQL;
     }
 
     @Override
     public String getUpdateStatment() {
-        return "UPDATE " + TABLE + " SET especial = ? WHERE id = ?";
+        return SpecialTaskMapping.UPDATE_SQL;
     }
 
     @Override
     public String getDeleteStatement() {
-        return "DELETE FROM " + TABLE + " WHERE id = ?";
+        return SpecialTaskMapping.DELETE_SQL;
     }
 
+    /**
+     * Writes the task and special rows atomically, so neither is ever
+     * committed without the other. With the MySQL write modes both rows go
+     * in a single round trip that is atomic by itself: a multi-table UPDATE,
+     * or a multi-statement string or procedure that opens and commits its
+     * own transaction unless it runs inside a caller's {@link UnitOfWork}.
+     * {@link WriteMode#STATEMENTS} sends two statements in a transaction.
+     *
+     * An update of a loaded special task writes only the changed columns:
+     * when they all belong to one table, a single statement on that table
+     * (atomic by itself, whatever the write mode), and nothing at all when
+     * no column changed.
+     *
+     * @param specialTask Special task to insert or update
+     * @return Record ID, or 0 if the write failed and was rolled back
+     */
     @Override
     public Long saveOrUpdate(SpecialTask specialTask) {
-        Long taskId = new TaskDao().saveOrUpdate(specialTask);
+        long start = System.nanoTime();
+        Long originalId = specialTask.getId();
+        boolean inserting = originalId == null || originalId <= 0;
+        WriteMode mode = getWriteMode();
+
+        boolean[] dirty = inserting ? null : findDirtyColumns(specialTask);
+        if (dirty != null && !isAnyDirty(dirty, 0, dirty.length)) {
+            getMetrics().record(DaoMetrics.Operation.SAVE_OR_UPDATE, start, 0, false);
+            return originalId;
+        }
+
+        Long id;
+        try {
+            if (dirty != null && !(isAnyDirty(dirty, 0, TASK_COLUMNS)
+                    && isAnyDirty(dirty, TASK_COLUMNS, dirty.length))) {
+                try (Connection connection = DbConnection.getConnection()) {
+                    id = updateDirty(connection, specialTask, dirty);
+                }
+            } else if (mode == WriteMode.STATEMENTS) {
+                id = UnitOfWork.inTransaction(unit -> {
+                    try (Connection connection = DbConnection.getConnection()) {
+                        return dirty == null
+                                ? writeWithStatements(connection, specialTask, inserting)
+                                : updateDirty(connection, specialTask, dirty);
+                    }
+                });
+            } else {
+                try (Connection connection = DbConnection.getConnection()) {
+                    id = write(connection, specialTask, inserting, mode);
+                }
+            }
+        } catch (DataAccessException | SQLException ex) {
+            reportWriteFailure(ex);
+            specialTask.setId(originalId);
+            getMetrics().record(DaoMetrics.Operation.SAVE_OR_UPDATE, start, 0, true);
+            return 0L;
+        }
+
+        specialTask.setId(id);
+        afterSave(specialTask, id, inserting);
+        getMetrics().record(DaoMetrics.Operation.SAVE_OR_UPDATE, start, 1, false);
+        return id;
+    }
+
+    private long write(Connection connection, SpecialTask specialTask,
+            boolean inserting, WriteMode mode) throws SQLException {
+        switch (mode) {
+            case MULTI_STATEMENT:
+                return inserting
+                        ? insertWithMultiStatement(connection, specialTask)
+                        : updateJoined(connection, specialTask);
+            case STORED_PROCEDURE:
+                return callSaveProcedure(connection, specialTask, inserting);
+            default:
+                return writeWithStatements(connection, specialTask, inserting);
+        }
+    }
+
+    // Updates the changed columns of each table, leaving unchanged tables out
+    private long updateDirty(Connection connection, SpecialTask specialTask,
+            boolean[] dirty) throws SQLException {
+        boolean[] taskDirty = Arrays.copyOfRange(dirty, 0, TASK_COLUMNS);
+        boolean[] specialDirty = Arrays.copyOfRange(dirty, TASK_COLUMNS, dirty.length);
+
+        if (isAnyDirty(taskDirty, 0, taskDirty.length)) {
+            try (PreparedStatement preparedStatement = withTimeout(connection.prepareStatement(TaskMapping.updateSql(taskDirty)))) {
+                TaskMapping.bindUpdate(preparedStatement, specialTask, taskDirty);
+                preparedStatement.executeUpdate();
+            }
+        }
+        if (isAnyDirty(specialDirty, 0, specialDirty.length)) {
+            try (PreparedStatement preparedStatement = withTimeout(connection.prepareStatement(SpecialTaskMapping.updateSql(specialDirty)))) {
+                SpecialTaskMapping.bindUpdate(preparedStatement, specialTask, specialDirty);
+                preparedStatement.executeUpdate();
+            }
+        }
+        return specialTask.getId();
+    }
+
+    private static boolean isAnyDirty(boolean[] dirty, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (dirty[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long writeWithStatements(Connection connection, SpecialTask specialTask,
+            boolean inserting) throws SQLException {
+        if (!inserting) {
+            try (PreparedStatement preparedStatement = withTimeout(connection.prepareStatement(TaskMapping.UPDATE_SQL))) {
+                TaskMapping.bindUpdate(preparedStatement, specialTask);
+                preparedStatement.executeUpdate();
+            }
+            try (PreparedStatement preparedStatement = withTimeout(connection.prepareStatement(SpecialTaskMapping.UPDATE_SQL))) {
+                SpecialTaskMapping.bindUpdate(preparedStatement, specialTask);
+                preparedStatement.executeUpdate();
+            }
+            return specialTask.getId();
+        }
 
-        if (specialTask.getId() == null || specialTask.getId() == 0) {
-            specialTask.setId(-taskId);
-        } else {
-            specialTask.setId(taskId);
+        long id;
+        try (PreparedStatement preparedStatement = withTimeout(connection.prepareStatement(
+                TaskMapping.INSERT_SQL, Statement.RETURN_GENERATED_KEYS))) {
+            TaskMapping.bindInsert(preparedStatement, specialTask);
+            preparedStatement.executeUpdate();
+            try (ResultSet resultSet = preparedStatement.getGeneratedKeys()) {
+                if (!resultSet.next()) {
+                    throw new SQLException("No ID generated for " + TaskMapping.TABLE);
+                }
+                id = resultSet.getLong(1);
+            }
         }
+        try (PreparedStatement preparedStatement = withTimeout(connection.prepareStatement(SpecialTaskMapping.INSERT_SQL))) {
+            SpecialTaskMapping.bindInsert(preparedStatement, id, specialTask);
+            preparedStatement.executeUpdate();
+        }
+        return id;
+    }
 
-        super.saveOrUpdate(specialTask);
-        return taskId;
+    private long insertWithMultiStatement(Connection connection, SpecialTask specialTask) throws SQLException {
+        boolean ownTransaction = UnitOfWork.current() == null;
+        String sql = ownTransaction ? MULTI_STATEMENT_TRANSACTION_SQL : MULTI_STATEMENT_UNIT_SQL;
+
+        try (PreparedStatement preparedStatement = withTimeout(connection.prepareStatement(sql))) {
+            TaskMapping.bindInsert(preparedStatement, specialTask);
+            preparedStatement.setBoolean(6, specialTask.isSpecial());
+
+            // Skip the update counts up to the SELECT LAST_INSERT_ID() result
+            boolean resultSetNext = preparedStatement.execute();
+            while (!resultSetNext) {
+                if (preparedStatement.getUpdateCount() == -1) {
+                    throw new SQLException("Multi-statement insert returned no ID");
+                }
+                resultSetNext = preparedStatement.getMoreResults();
+            }
+            try (ResultSet resultSet = preparedStatement.getResultSet()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        } catch (SQLException ex) {
+            // The server stops at the failed statement, leaving the
+            // transaction the string opened
+            if (ownTransaction) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("ROLLBACK");
+                } catch (SQLException rollbackFailure) {
+                    ex.addSuppressed(rollbackFailure);
+                }
+            }
+            throw ex;
+        }
+    }
+
+    private long updateJoined(Connection connection, SpecialTask specialTask) throws SQLException {
+        try (PreparedStatement preparedStatement = withTimeout(connection.prepareStatement(JOINED_UPDATE_SQL))) {
+            composeJoinedUpdate(preparedStatement, specialTask);
+            preparedStatement.executeUpdate();
+        }
+        return specialTask.getId();
+    }
+
+    private long callSaveProcedure(Connection connection, SpecialTask specialTask,
+            boolean inserting) throws SQLException {
+        try (CallableStatement callableStatement = withTimeout(connection.prepareCall(SAVE_PROCEDURE_CALL))) {
+            TaskMapping.bindInsert(callableStatement, specialTask);
+            callableStatement.setBoolean(6, specialTask.isSpecial());
+            if (inserting) {
+                callableStatement.setNull(7, Types.BIGINT);
+            } else {
+                callableStatement.setLong(7, specialTask.getId());
+            }
+            callableStatement.registerOutParameter(7, Types.BIGINT);
+            callableStatement.execute();
+            return callableStatement.getLong(7);
+        }
     }
 
+    private static void composeJoinedUpdate(PreparedStatement preparedStatement,
+            SpecialTask specialTask) throws SQLException {
+        TaskMapping.bindInsert(preparedStatement, specialTask);
+        preparedStatement.setBoolean(6, specialTask.isSpecial());
+        preparedStatement.setLong(7, specialTask.getId());
+    }
+
+    /**
+     * Inserts the task rows in batches through {@link TaskDao}, then the
+     * special rows with the generated IDs, all in one transaction: two
+     * round trips per batch whatever the write mode
+     *
+     * @param specialTasks New special tasks
+     * @return Generated IDs in iteration order; empty if it failed
+     */
     @Override
-    public void composeSaveOrUpdateStatement(PreparedStatement pstmt, SpecialTask specialTask) {
+    public List<Long> saveAll(Collection<SpecialTask> specialTasks) {
+        List<Long> originalIds = new ArrayList<>(specialTasks.size());
+        specialTasks.forEach(st -> originalIds.add(st.getId()));
+
+        try {
+            return UnitOfWork.inTransaction(unit -> {
+                List<Long> ids = taskDao.saveAll(new ArrayList<Task>(specialTasks));
+                if (ids.size() != specialTasks.size()) {
+                    return ids;
+                }
+
+                // composeInsertStatement binds the task IDs just generated
+                super.saveAll(specialTasks);
+                return ids;
+            });
+        } catch (DataAccessException ex) {
+            reportWriteFailure(ex);
+            Iterator<Long> id = originalIds.iterator();
+            specialTasks.forEach(st -> st.setId(id.next()));
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Updates both rows of every special task in one transaction; with
+     * {@link WriteMode#MULTI_STATEMENT} as a single batch of multi-table
+     * UPDATE statements, otherwise as one batch per table
+     *
+     * @param specialTasks Persisted special tasks
+     */
+    @Override
+    public void updateAll(Collection<SpecialTask> specialTasks) {
+        WriteMode mode = getWriteMode();
+
         try {
-            if (specialTask.getId() != null && specialTask.getId() < 0) {
-                pstmt.setLong(1, -specialTask.getId());
-                pstmt.setBoolean(2, specialTask.isSpecial());
+            UnitOfWork.inTransaction(unit -> {
+                if (mode == WriteMode.MULTI_STATEMENT) {
+                    updateAllJoined(specialTasks);
+                } else {
+                    taskDao.updateAll(new ArrayList<Task>(specialTasks));
+                    super.updateAll(specialTasks);
+                }
+                return null;
+            });
+        } catch (DataAccessException ex) {
+            reportWriteFailure(ex);
+        }
+    }
+
+    private void updateAllJoined(Collection<SpecialTask> specialTasks) throws SQLException {
+        try (Connection connection = DbConnection.getConnection();
+                PreparedStatement preparedStatement = withTimeout(connection.prepareStatement(JOINED_UPDATE_SQL))) {
+            int pending = 0;
+            for (SpecialTask st : specialTasks) {
+                composeJoinedUpdate(preparedStatement, st);
+                preparedStatement.addBatch();
+                if (++pending == getBatchSize()) {
+                    preparedStatement.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                preparedStatement.executeBatch();
+            }
+        }
+
+        for (SpecialTask st : specialTasks) {
+            afterSave(st, st.getId(), false);
+        }
+    }
+
+    @Override
+    public List<Long> saveOrUpdateAll(Collection<SpecialTask> specialTasks) {
+        List<SpecialTask> inserts = new ArrayList<>();
+        List<SpecialTask> updates = new ArrayList<>();
+
+        for (SpecialTask st : specialTasks) {
+            if (st.getId() == null || st.getId() <= 0) {
+                inserts.add(st);
             } else {
-                pstmt.setBoolean(1, specialTask.isSpecial());
-                pstmt.setLong(2, specialTask.getId());
+                updates.add(st);
             }
+        }
+
+        try {
+            UnitOfWork.inTransaction(unit -> {
+                saveAll(inserts);
+                updateAll(updates);
+                return null;
+            });
+        } catch (DataAccessException ex) {
+            reportWriteFailure(ex);
+            inserts.forEach(st -> st.setId(null));
+            return new ArrayList<>();
+        }
+
+        List<Long> ids = new ArrayList<>(specialTasks.size());
+        specialTasks.forEach(st -> ids.add(st.getId()));
+        return ids;
+    }
+
+    // The task row is written here too, so its name joins the task search index
+    @Override
+    protected void onSaved(SpecialTask specialTask, Long id) {
+        super.onSaved(specialTask, id);
+        TaskDao.NAME_INDEX.put(id, specialTask.getName());
+    }
+
+    @Override
+    public void composeSaveOrUpdateStatement(PreparedStatement pstmt, SpecialTask specialTask) {
+        try {
+            SpecialTaskMapping.bindUpdate(pstmt, specialTask);
         } catch (SQLException ex) {
             Logger.getLogger(SpecialTaskDao.class.getName()).log(Level.SEVERE, null, ex);
         }
     }
 
+    @Override
+    protected void composeInsertStatement(PreparedStatement preparedStatement,
+            SpecialTask specialTask) throws SQLException {
+        SpecialTaskMapping.bindInsert(preparedStatement, specialTask.getId(), specialTask);
+    }
+
     @Override
     public String getFindByIdStatment() {
-        return "SELECT t.id, name, email, password, last_access, active, especial"
-                + " FROM " + TABLE + " t"
-                + " INNER JOIN " + TaskDao.TABLE + " te"
-                + " ON t.id = te.id"
-                + " WHERE t.id = ?";
+        return SpecialTaskMapping.FIND_BY_ID_SQL;
+    }
+
+    @Override
+    public String getFindByIdsStatement(int count) {
+        return SpecialTaskMapping.findByIdsSql(count);
+    }
+
+    @Override
+    protected Object[] captureState(SpecialTask specialTask) {
+        Object[] task = TaskMapping.state(specialTask);
+        Object[] special = SpecialTaskMapping.state(specialTask);
+        Object[] state = Arrays.copyOf(task, task.length + special.length);
+        System.arraycopy(special, 0, state, task.length, special.length);
+        return state;
+    }
+
+    @Override
+    protected List<String> getStateColumns() {
+        return STATE_COLUMNS;
+    }
+
+    @Override
+    protected SpecialTask copy(SpecialTask specialTask) {
+        return SpecialTaskMapping.copy(specialTask);
     }
 
     @Override
     public String getFindAllStatment() {
-        return "SELECT t.id, name, email, password, last_access, active, especial"
-                + " FROM " + TABLE + " t"
-                + " INNER JOIN " + TaskDao.TABLE + " te"
-                + " ON t.id = te.id"
-                + " WHERE excluido = false";
+        return SpecialTaskMapping.FIND_ALL_NOT_ON_TRASH_SQL;
     }
 
     @Override
@@ -134,13 +557,7 @@ public class SpecialTaskDao extends Dao<SpecialTask> {
         SpecialTask specialTask = new SpecialTask();
 
         try {
-            specialTask.setId(resultSet.getLong("id"));
-            specialTask.setName(resultSet.getString("name"));
-            specialTask.setEmail(resultSet.getString("email"));
-            specialTask.setPassword(resultSet.getString("password"));
-            specialTask.setLastAccess(resultSet.getObject("last_access", LocalDate.class));
-            specialTask.setActive(resultSet.getBoolean("active"));
-            specialTask.setSpecial(resultSet.getBoolean("especial"));
+            specialTask = SpecialTaskMapping.rowMapper(resultSet).map(resultSet);
         } catch (SQLException ex) {
             Logger.getLogger(SpecialTaskDao.class.getName()).log(Level.SEVERE, null, ex);
         }
@@ -148,69 +565,56 @@ public class SpecialTaskDao extends Dao<SpecialTask> {
         return specialTask;
     }
 
+    @Override
+    public RowMapper<SpecialTask> createRowMapper(ResultSet resultSet) throws SQLException {
+        return SpecialTaskMapping.rowMapper(resultSet);
+    }
+
     @Override
     public String getMoveToTrashStatement() {
-        return "UPDATE " + TABLE + " SET excluido = true WHERE id = ?";
+        return SpecialTaskMapping.MOVE_TO_TRASH_SQL;
     }
 
     @Override
     public String getRestoreFromTrashStatement() {
-        return "UPDATE " + TABLE + " SET excluido = false WHERE id = ?";
+        return SpecialTaskMapping.RESTORE_FROM_TRASH_SQL;
     }
 
     @Override
     public String getFindAllOnTrashStatement() {
-        return "SELECT t.id, name, email, password, last_access, active, especial"
-                + " FROM " + TABLE + " t"
-                + " INNER JOIN " + TaskDao.TABLE + " te"
-                + " ON t.id = te.id"
-                + " WHERE excluido = true";
+        return SpecialTaskMapping.FIND_ALL_ON_TRASH_SQL;
     }
 
     @Override
-    public void moveToTrash(SpecialTask specialTask) {
-         try (PreparedStatement preparedStatement = DbConnection.getConnection().prepareStatement(
-            getMoveToTrashStatement())) {
-        
-        preparedStatement.setLong(1, specialTask.getId());
-        System.out.println(">> SQL: " + preparedStatement);
-        preparedStatement.executeUpdate();
-        
-    } catch (Exception ex) {
-        System.out.println("Exception: " + ex);
-    }
+    public String getFindPageStatement() {
+        return SpecialTaskMapping.FIND_PAGE_SQL;
     }
 
     @Override
-    public void restoreFromTrash(Long id) {
-        try (PreparedStatement preparedStatement = DbConnection.getConnection().prepareStatement(
-            getRestoreFromTrashStatement())) {
-        
-        preparedStatement.setLong(1, id);
-        System.out.println(">> SQL: " + preparedStatement);
-        preparedStatement.executeUpdate();
-        
-    } catch (Exception ex) {
-        System.out.println("Exception: " + ex);
-    }
+    public String getFindPageOnTrashStatement() {
+        return SpecialTaskMapping.FIND_PAGE_ON_TRASH_SQL;
     }
 
     @Override
-    public List<SpecialTask> findAllOnTrash() {
-        List<SpecialTask> specialTasks = new ArrayList<>();
-
-    try (PreparedStatement preparedStatement = DbConnection.getConnection().prepareStatement(
-            getFindAllOnTrashStatement())) {
-        
-        System.out.println(">> SQL: " + preparedStatement);
-        ResultSet resultSet = preparedStatement.executeQuery();
-        
-        return extractObjects(resultSet);
-        
-    } catch (Exception ex) {
-        System.out.println("Exception: " + ex);
+    protected String getProjectionStatement(List<String> columns, boolean page) {
+        return SpecialTaskMapping.projectionSql(columns, false, page);
     }
 
-    return specialTasks;
+    /**
+     * Writes the task rows of the batch methods. The special task DAO runs
+     * onSaved and publishes the change for the whole row afterwards, so
+     * this one does neither: it would overwrite the loaded state that the
+     * published change is computed from, and publish the write twice.
+     */
+    private static final class TaskRows extends TaskDao {
+
+        @Override
+        protected boolean isPublishingChanges() {
+            return false;
+        }
+
+        @Override
+        protected void onSaved(Task task, Long id) {
+        }
     }
 }
@@ -34,6 +34,8 @@
 package io.github.guisso.taskmanagement.task;
 
 import io.github.guisso.taskmanagement.entity.Entity;
+import io.github.guisso.taskmanagement.mapping.Hydrate;
+import io.github.guisso.taskmanagement.mapping.Table;
 import java.time.LocalDate;
 
 /**
@@ -42,6 +44,7 @@ import java.time.LocalDate;
  * @author Luis Guisso &lt;luis dot guisso at ifnmg dot edu dot br&gt;
  * @version 0.2, 2024-08-29
  */
+@Table("task")
 public class Task extends Entity {
 
     private String name;
@@ -115,6 +118,21 @@ public class Task extends Entity {
     }
     // </editor-fold>
 
+    /**
+     * Fills the task with a row read by the DAOs. Database values are
+     * trusted, so the validating setters are skipped.
+     */
+    @Hydrate
+    final void assign(long id, String name, String email, String password,
+            LocalDate lastAccess, boolean active) {
+        setId(id);
+        this.name = name;
+        this.email = email;
+        this.password = password;
+        this.lastAccess = lastAccess;
+        this.active = active;
+    }
+
     @Override
     public String toString() {
         return "Task{" +
@@ -34,13 +34,14 @@
 package io.github.guisso.taskmanagement.task;
 
 import io.github.guisso.taskmanagement.repository.Dao;
-import io.github.guisso.taskmanagement.repository.DbConnection;
+import io.github.guisso.taskmanagement.repository.DaoMetrics;
+import io.github.guisso.taskmanagement.repository.RowMapper;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -66,52 +67,103 @@ import java.util.logging.Logger;
  */
     public class TaskDao extends Dao<Task> {
 
-        public static final String TABLE = "task";
+        public static final String TABLE = TaskMapping.TABLE;
+
+        /**
+         * How {@link #findByName(String, int)} and
+         * {@link #findByNamePrefix(String, int)} look names up
+         */
+        public enum SearchMode {
+            /**
+             * LIKE on the name column; a prefix search can use an index on
+             * name, a contains search scans the table
+             */
+            LIKE,
+            /**
+             * In-process trigram index over all task names, loaded on the
+             * first search and kept current by the writes of this process
+             */
+            INDEX,
+            /**
+             * MySQL FULLTEXT index on name (see
+             * scripts/task_search_indexes.sql); matches whole words, or
+             * words starting with the last term on a prefix search
+             */
+            FULLTEXT
+        }
+
+        // SQL statements generated from the Task mapping, reused as statement cache keys
+        private static final String FIND_BY_NAME_SQL = TaskMapping.SELECT_SQL
+                + " WHERE name LIKE ? ORDER BY id LIMIT ?";
+
+        private static final String FIND_BY_NAME_FULLTEXT_SQL = TaskMapping.SELECT_SQL
+                + " WHERE MATCH (name) AGAINST (? IN BOOLEAN MODE) ORDER BY id LIMIT ?";
+
+        // Shared by every TaskDao and SpecialTaskDao of the process
+        static final TaskNameIndex NAME_INDEX = new TaskNameIndex();
+
+        private static volatile SearchMode searchMode = SearchMode.LIKE;
+
+        public static SearchMode getSearchMode() {
+            return searchMode;
+        }
+
+        /**
+         * Chooses how names are searched; leaving {@link SearchMode#INDEX}
+         * drops the in-process index
+         *
+         * @param mode Search mode
+         */
+        public static void setSearchMode(SearchMode mode) {
+            searchMode = mode;
+            if (mode != SearchMode.INDEX) {
+                NAME_INDEX.invalidate();
+            }
+        }
 
         @Override
         public String getSaveStatment() {
-            return "INSERT INTO " + TABLE
-                    + " (name, email, password, last_access, active)"
-                    + " VALUES (?, ?, ?, ?, ?)";
+            return TaskMapping.INSERT_SQL;
         }
 
         @Override
         public String getUpdateStatment() {
-            return "UPDATE " + TABLE
-                    + " SET name = ?, email = ?, password = ?, last_access = ?, active = ?"
-                    + " WHERE id = ?";
+            return TaskMapping.UPDATE_SQL;
         }
 
         @Override
         public String getDeleteStatement() {
-            return "DELETE FROM " + TABLE + " WHERE id = ?";
+            return TaskMapping.DELETE_SQL;
         }
 
         @Override
         public String getFindByIdStatment() {
-            return "SELECT id, name, email, password, last_access, active"
-                    + " FROM " + TABLE
-                    + " WHERE id = ?";
+            return TaskMapping.FIND_BY_ID_SQL;
+        }
+
+        @Override
+        public String getFindByIdsStatement(int count) {
+            return TaskMapping.findByIdsSql(count);
+        }
+
+        @Override
+        protected Task copy(Task task) {
+            return TaskMapping.copy(task);
         }
 
         @Override
         public String getFindAllStatment() {
-            return "SELECT id, name, email, password, last_access, active"
-                    + " FROM " + TABLE;
+            return TaskMapping.FIND_ALL_NOT_ON_TRASH_SQL;
         }
 
         @Override
         public void composeSaveOrUpdateStatement(PreparedStatement pstmt, Task task) {
             try {
-                pstmt.setString(1, task.getName());
-                pstmt.setString(2, task.getEmail());
-                pstmt.setString(3, task.getPassword());
-                pstmt.setObject(4, task.getLastAccess(), java.sql.Types.DATE);
-                pstmt.setBoolean(5, task.getActive());
-
-                // Se for um update, definir o ID
+                // Se for um update, o ID entra como último parâmetro
                 if (task.getId() != null && task.getId() > 0) {
-                    pstmt.setLong(6, task.getId());
+                    TaskMapping.bindUpdate(pstmt, task);
+                } else {
+                    TaskMapping.bindInsert(pstmt, task);
                 }
 
             } catch (SQLException ex) {
@@ -119,17 +171,32 @@ import java.util.logging.Logger;
             }
         }
 
+        @Override
+        protected Object[] captureState(Task task) {
+            return TaskMapping.state(task);
+        }
+
+        @Override
+        protected List<String> getStateColumns() {
+            return TaskMapping.STATE_COLUMNS;
+        }
+
+        @Override
+        protected String getUpdateStatement(boolean[] dirty) {
+            return TaskMapping.updateSql(dirty);
+        }
+
+        @Override
+        protected void composeUpdateStatement(PreparedStatement pstmt, Task task,
+                boolean[] dirty) throws SQLException {
+            TaskMapping.bindUpdate(pstmt, task, dirty);
+        }
+
         @Override
         public Task extractObject(ResultSet resultSet) {
             Task task = null;
             try {
-                task = new Task();
-                task.setId(resultSet.getLong("id"));
-                task.setName(resultSet.getString("name"));
-                task.setEmail(resultSet.getString("email"));
-                task.setPassword(resultSet.getString("password"));
-                task.setLastAccess(resultSet.getObject("last_access", LocalDate.class));
-                task.setActive(resultSet.getBoolean("active"));
+                task = TaskMapping.rowMapper(resultSet).map(resultSet);
             } catch (SQLException ex) {
                 Logger.getLogger(TaskDao.class.getName()).log(Level.SEVERE, null, ex);
             }
@@ -137,104 +204,178 @@ import java.util.logging.Logger;
         }
 
         @Override
-        public List<Task> extractObjects(ResultSet resultSet) throws SQLException {
-            List<Task> tasks = new ArrayList<>();
-            while (resultSet.next()) {
-                tasks.add(extractObject(resultSet));
-            }
-            return tasks;
+        public RowMapper<Task> createRowMapper(ResultSet resultSet) throws SQLException {
+            return TaskMapping.rowMapper(resultSet);
         }
 
         @Override
         public String getMoveToTrashStatement() {
-            return "UPDATE " + TABLE
-                    + " SET deleted = true"
-                    + " WHERE id = ?";
+            return TaskMapping.MOVE_TO_TRASH_SQL;
         }
 
         @Override
-        public void moveToTrash(Task task) {
-            try (PreparedStatement preparedStatement = DbConnection.getConnection().prepareStatement(
-                getMoveToTrashStatement())) {
-
-            preparedStatement.setLong(1, task.getId());
-            System.out.println(">> SQL: " + preparedStatement);
-            preparedStatement.executeUpdate();
-
-        } catch (Exception ex) {
-            System.out.println("Exception: " + ex);
-        }
+        public String getRestoreFromTrashStatement() {
+            return TaskMapping.RESTORE_FROM_TRASH_SQL;
         }
 
         @Override
-        public String getRestoreFromTrashStatement() {
-            return "UPDATE " + TABLE
-                    + " SET deleted = false"
-                    + " WHERE id = ?";
+        public String getFindAllOnTrashStatement() {
+            return TaskMapping.FIND_ALL_ON_TRASH_SQL;
         }
 
         @Override
-        public void restoreFromTrash(Long id) {
-            try (PreparedStatement preparedStatement = DbConnection.getConnection().prepareStatement(
-                getRestoreFromTrashStatement())) {
-
-            preparedStatement.setLong(1, id);
-            System.out.println(">> SQL: " + preparedStatement);
-            preparedStatement.executeUpdate();
-
-        } catch (Exception ex) {
-            System.out.println("Exception: " + ex);
-        }
+        public String getFindPageStatement() {
+            return TaskMapping.FIND_PAGE_SQL;
         }
 
         @Override
-        public String getFindAllOnTrashStatement() {
-            return "SELECT id, name, email, password, last_access, active"
-                    + " FROM " + TABLE
-                    + " WHERE deleted = true";
+        public String getFindPageOnTrashStatement() {
+            return TaskMapping.FIND_PAGE_ON_TRASH_SQL;
         }
 
         @Override
-        public List<Task> findAllOnTrash() {
-            List<Task> tasks = new ArrayList<>();
-
-        try (PreparedStatement preparedStatement = DbConnection.getConnection().prepareStatement(
-                getFindAllOnTrashStatement())) {
-
-            System.out.println(">> SQL: " + preparedStatement);
-            ResultSet resultSet = preparedStatement.executeQuery();
+        protected String getProjectionStatement(List<String> columns, boolean page) {
+            return TaskMapping.projectionSql(columns, false, page);
+        }
 
-            return extractObjects(resultSet);
+        /**
+         * Finds the tasks whose name contains the term
+         *
+         * @param name Search term
+         * @return Matching tasks in ID order, empty if none matches, or null
+         * if the search failed
+         */
+        public List<Task> findByName(String name) {
+            return findByName(name, Integer.MAX_VALUE);
+        }
 
-        } catch (Exception ex) {
-            System.out.println("Exception: " + ex);
+        /**
+         * Finds at most limit tasks whose name contains the term, using the
+         * current {@link SearchMode}
+         *
+         * @param name Search term
+         * @param limit Maximum number of tasks
+         * @return Matching tasks in ID order, empty if none matches, or null
+         * if the search failed
+         */
+        public List<Task> findByName(String name, int limit) {
+            return search(name, false, limit, DaoMetrics.Operation.FIND_BY_NAME);
         }
 
-        return tasks;
+        /**
+         * Finds at most limit tasks whose name starts with the prefix, using
+         * the current {@link SearchMode}
+         *
+         * @param prefix Name prefix, taken literally
+         * @param limit Maximum number of tasks
+         * @return Matching tasks in ID order, empty if none matches, or null
+         * if the search failed
+         */
+        public List<Task> findByNamePrefix(String prefix, int limit) {
+            return search(prefix, true, limit, DaoMetrics.Operation.FIND_BY_NAME_PREFIX);
         }
 
-        public List<Task> findByName(String name) {
-            final String SQL = "SELECT id, name, email, password, last_access, active"
-                    + " FROM " + TABLE
-                    + " WHERE name LIKE ?";
+        private List<Task> search(String term, boolean prefix, int limit,
+                DaoMetrics.Operation operation) {
+            long start = System.nanoTime();
+            List<Task> found = null;
+            boolean failed = false;
 
-            try (PreparedStatement preparedStatement = DbConnection.getConnection().prepareStatement(SQL)) {
-                preparedStatement.setString(1, "%" + name + "%");
+            try {
+                switch (searchMode) {
+                    case INDEX:
+                        found = searchIndex(term, prefix, limit);
+                        break;
+                    case FULLTEXT:
+                        String query = booleanQuery(term, prefix);
+                        found = query.isEmpty()
+                                ? new ArrayList<>()
+                                : query(FIND_BY_NAME_FULLTEXT_SQL, query, limit);
+                        break;
+                    default:
+                        found = query(FIND_BY_NAME_SQL,
+                                prefix ? escapeLike(term) + "%" : "%" + term + "%", limit);
+                }
+            } catch (Exception ex) {
+                reportReadFailure(ex);
+                failed = true;
+            }
 
-                // Mostra a sentença completa
-                System.out.println(">> SQL: " + preparedStatement);
+            getMetrics().record(operation, start, found == null ? 0 : found.size(), failed);
+            return found;
+        }
 
-                // Realiza a consulta no banco de dados
-                ResultSet resultSet = preparedStatement.executeQuery();
+        private List<Task> query(String sql, String term, int limit) throws SQLException {
+            return readWithRetry(connection -> {
+                try (PreparedStatement preparedStatement = withTimeout(connection.prepareStatement(sql))) {
+                    preparedStatement.setString(1, term);
+                    preparedStatement.setInt(2, limit);
+
+                    // Realiza a consulta no banco de dados
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        // Retorna os objetos respectivos
+                        return extractObjects(resultSet);
+                    }
+                }
+            });
+        }
 
-                // Retorna os objetos respectivos
-                return extractObjects(resultSet);
+        // The index may hold IDs whose row is gone, deleted by another
+        // process, so more are fetched until limit tasks are found or the
+        // index has no more matches
+        private List<Task> searchIndex(String term, boolean prefix, int limit) throws SQLException {
+            int fetch = limit;
+            while (true) {
+                List<Long> ids = NAME_INDEX.search(term, prefix, fetch);
+                List<Task> found = loadInOrder(ids);
+                if (found.size() >= limit || ids.size() < fetch || fetch == Integer.MAX_VALUE) {
+                    return found.size() > limit ? new ArrayList<>(found.subList(0, limit)) : found;
+                }
+                fetch = fetch > Integer.MAX_VALUE / 2 ? Integer.MAX_VALUE : fetch * 2;
+            }
+        }
 
-            } catch (Exception ex) {
-                System.out.println("Exception: " + ex);
+        private List<Task> loadInOrder(List<Long> ids) {
+            Map<Long, Task> byId = findByIds(ids);
+            List<Task> found = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                Task task = byId.get(id);
+                if (task != null) {
+                    found.add(task);
+                }
             }
+            return found;
+        }
 
-            return null;
+        // Every word is required; on a prefix search the last one may be
+        // the start of a word
+        private static String booleanQuery(String term, boolean prefix) {
+            StringBuilder query = new StringBuilder();
+            for (String word : term.split("[^\\p{L}\\p{N}]+")) {
+                if (!word.isEmpty()) {
+                    query.append(query.length() == 0 ? "+" : " +").append(word);
+                }
+            }
+            if (prefix && query.length() > 0) {
+                query.append('*');
+            }
+            return query.toString();
+        }
+
+        private static String escapeLike(String term) {
+            return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        }
+
+        @Override
+        protected void onSaved(Task e, Long id) {
+            super.onSaved(e, id);
+            NAME_INDEX.put(id, e.getName());
+        }
+
+        @Override
+        protected void onDeleted(Long id) {
+            super.onDeleted(id);
+            NAME_INDEX.remove(id);
         }
 
     }
\ No newline at end of file
@@ -0,0 +1,288 @@
+/*
+ * CC BY-NC-SA 4.0
+ *
+ * Copyright 2022 Luis Guisso &lt;luis dot guisso at ifnmg dot edu dot br&gt;.
+ *
+ * Attribution-NonCommercial-ShareAlike 4.0 International (CC BY-NC-SA 4.0)
+ *
+ * You are free to:
+ *   Share - copy and redistribute the material in any medium or format
+ *   Adapt - remix, transform, and build upon the material
+ *
+ * Under the following terms:
+ *   Attribution - You must give appropriate credit, provide 
+ *   a link to the license, and indicate if changes were made.
+ *   You may do so in any reasonable manner, but not in any 
+ *   way that suggests the licensor endorses you or your use.
+ *   NonCommercial - You may not use the material for commercial purposes.
+ *   ShareAlike - If you remix, transform, or build upon the 
+ *   material, you must distribute your contributions under 
+ *   the same license as the original.
+ *   No additional restrictions - You may not apply legal 
+ *   terms or technological measures that legally restrict 
+ *   others from doing anything the license permits.
+ *
+ * Notices:
+ *   You do not have to comply with the license for elements 
+ *   of the material in the public domain or where your use 
+ *   is permitted by an applicable exception or limitation.
+ *   No warranties are given. The license may not give you 
+ *   all of the permissions necessary for your intended use. 
+ *   For example, other rights such as publicity, privacy, 
+ *   or moral rights may limit how you use the material.
+ */
+package io.github.guisso.taskmanagement.task;
+
+import io.github.guisso.taskmanagement.repository.DbConnection;
+import io.github.guisso.taskmanagement.repository.Deadline;
+import io.github.guisso.taskmanagement.repository.UnitOfWork;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Class TaskNameIndex
+ *
+ * In-process trigram index over the names of all tasks, used by
+ * {@link TaskDao.SearchMode#INDEX}. It is loaded from the task table on
+ * the first search and then kept current by the DAO writes of this
+ * process. A search intersects the ID sets of the trigrams of the term and
+ * checks the few candidates left, instead of scanning every name.
+ *
+ * Matching is case-insensitive and takes the term literally (no LIKE
+ * wildcards). Writes made inside a {@link UnitOfWork} reach the index
+ * only once the unit commits, so a rollback leaves nothing behind. The
+ * index never loads through a unit's connection, which could see rows
+ * that are later rolled back.
+ *
+ * @version 0.1, 2026-10-17
+ */
+final class TaskNameIndex {
+
+    private static final String LOAD_SQL = "SELECT id, name FROM " + TaskMapping.TABLE;
+
+    private static final int GRAM = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Lower-case names in ID order and, for each trigram, the IDs holding it
+    private final TreeMap<Long, String> names = new TreeMap<>();
+    private final Map<String, Set<Long>> grams = new HashMap<>();
+
+    private boolean loaded;
+
+    /**
+     * Finds the IDs of the tasks whose name contains, or starts with, the
+     * term
+     *
+     * @param term Search term
+     * @param prefix True to match only names starting with the term
+     * @param limit Maximum number of IDs
+     * @return Matching IDs in ascending order
+     * @throws SQLException If the index had to be loaded and could not be
+     */
+    List<Long> search(String term, boolean prefix, int limit) throws SQLException {
+        String query = normalize(term);
+        load();
+
+        lock.readLock().lock();
+        try {
+            if (query.length() < GRAM) {
+                return scan(query, prefix, limit);
+            }
+
+            // Walk the rarest trigram and probe the others
+            List<Set<Long>> sets = new ArrayList<>();
+            for (String gram : gramsOf(query)) {
+                Set<Long> ids = grams.get(gram);
+                if (ids == null) {
+                    return new ArrayList<>();
+                }
+                sets.add(ids);
+            }
+            sets.sort((a, b) -> Integer.compare(a.size(), b.size()));
+
+            List<Long> found = new ArrayList<>();
+            candidates:
+            for (Long id : sets.get(0)) {
+                for (int i = 1; i < sets.size(); i++) {
+                    if (!sets.get(i).contains(id)) {
+                        continue candidates;
+                    }
+                }
+                if (matches(names.get(id), query, prefix)) {
+                    found.add(id);
+                }
+            }
+
+            Collections.sort(found);
+            return found.size() > limit ? new ArrayList<>(found.subList(0, limit)) : found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes a task inserted or renamed by this process
+     *
+     * @param id Record ID
+     * @param name Task name
+     */
+    void put(Long id, String name) {
+        UnitOfWork unit = UnitOfWork.current();
+        if (unit != null) {
+            unit.afterCommit(() -> reindex(id, name));
+        } else {
+            reindex(id, name);
+        }
+    }
+
+    private void reindex(Long id, String name) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                unindex(id);
+                index(id, normalize(name));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a task deleted by this process
+     *
+     * @param id Record ID
+     */
+    void remove(Long id) {
+        UnitOfWork unit = UnitOfWork.current();
+        if (unit != null) {
+            unit.afterCommit(() -> discard(id));
+        } else {
+            discard(id);
+        }
+    }
+
+    private void discard(Long id) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                unindex(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the index; the next search reloads it
+     */
+    void invalidate() {
+        lock.writeLock().lock();
+        try {
+            names.clear();
+            grams.clear();
+            loaded = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void load() throws SQLException {
+        lock.readLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                // From the primary: a lagging replica could miss names written
+                // by this process before the load, which would never be indexed.
+                // Borrowed from the pool, not from the current unit of work,
+                // so uncommitted rows are never loaded.
+                try (Connection connection = DbConnection.getPool().borrow();
+                        PreparedStatement preparedStatement = Deadline.apply(
+                                connection.prepareStatement(LOAD_SQL), Duration.ZERO);
+                        ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        index(resultSet.getLong(1), normalize(resultSet.getString(2)));
+                    }
+                }
+                loaded = true;
+            }
+        } finally {
+            if (!loaded) {
+                names.clear();
+                grams.clear();
+            }
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<Long> scan(String query, boolean prefix, int limit) {
+        List<Long> found = new ArrayList<>();
+        for (Map.Entry<Long, String> entry : names.entrySet()) {
+            if (found.size() == limit) {
+                break;
+            }
+            if (matches(entry.getValue(), query, prefix)) {
+                found.add(entry.getKey());
+            }
+        }
+        return found;
+    }
+
+    private void index(Long id, String name) {
+        names.put(id, name);
+        for (String gram : gramsOf(name)) {
+            grams.computeIfAbsent(gram, g -> new HashSet<>()).add(id);
+        }
+    }
+
+    private void unindex(Long id) {
+        String name = names.remove(id);
+        if (name == null) {
+            return;
+        }
+        for (String gram : gramsOf(name)) {
+            Set<Long> ids = grams.get(gram);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                grams.remove(gram);
+            }
+        }
+    }
+
+    private static boolean matches(String name, String query, boolean prefix) {
+        return prefix ? name.startsWith(query) : name.contains(query);
+    }
+
+    private static Set<String> gramsOf(String text) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            result.add(text.substring(i, i + GRAM));
+        }
+        return result;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,32 @@
+-- Tables of the DAOs. IF NOT EXISTS lets databases created from the old
+-- dumps adopt the migrations without losing data.
+
+CREATE TABLE IF NOT EXISTS task (
+  id bigint unsigned NOT NULL AUTO_INCREMENT,
+  name varchar(150) NOT NULL,
+  email varchar(255) NOT NULL,
+  password char(64) NOT NULL,
+  last_access date NOT NULL,
+  active tinyint(1) DEFAULT 1,
+  deleted tinyint(1) DEFAULT 0,
+  PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS users (
+  id bigint unsigned NOT NULL AUTO_INCREMENT,
+  name varchar(150) NOT NULL,
+  email varchar(255) NOT NULL,
+  password char(64) NOT NULL,
+  last_access date NOT NULL,
+  active tinyint(1) DEFAULT 1,
+  deleted tinyint(1) DEFAULT 0,
+  PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS tarefaespecial (
+  id bigint unsigned NOT NULL,
+  especial tinyint(1) DEFAULT 0,
+  excluido tinyint(1) DEFAULT 0,
+  PRIMARY KEY (id),
+  CONSTRAINT tarefaespecial_task_fk FOREIGN KEY (id) REFERENCES task (id)
+) ENGINE=InnoDB;
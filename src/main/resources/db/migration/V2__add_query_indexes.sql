@@ -0,0 +1,15 @@
+-- Indexes behind the DAO queries. MySQL has no partial indexes, so the
+-- trash flag leads a composite index with the ID: findAll, findAllOnTrash
+-- and the keyset pages (flag = ? AND id > ? ORDER BY id LIMIT ?) read a
+-- single index range.
+
+CREATE INDEX task_deleted_id ON task (deleted, id);
+
+-- findByNamePrefix (name LIKE 'term%')
+CREATE INDEX task_name ON task (name);
+
+CREATE INDEX users_deleted_id ON users (deleted, id);
+
+CREATE UNIQUE INDEX users_email ON users (email);
+
+CREATE INDEX tarefaespecial_excluido_id ON tarefaespecial (excluido, id);
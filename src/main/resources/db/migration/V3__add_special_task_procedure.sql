@@ -0,0 +1,51 @@
+-- special_task_save: used by SpecialTaskDao in STORED_PROCEDURE write mode,
+-- the default on MySQL/MariaDB. It inserts or updates the task and
+-- tarefaespecial rows of a special task in one call, so one round trip.
+-- p_id is NULL or 0 for an insert and returns the generated ID.
+--
+-- Called with auto-commit on, the procedure commits its own transaction;
+-- inside a caller's transaction it leaves the commit to the caller.
+
+DROP PROCEDURE IF EXISTS special_task_save;
+
+DELIMITER ;;
+CREATE PROCEDURE special_task_save(
+    IN p_name VARCHAR(150),
+    IN p_email VARCHAR(255),
+    IN p_password CHAR(64),
+    IN p_last_access DATE,
+    IN p_active TINYINT,
+    IN p_especial TINYINT,
+    INOUT p_id BIGINT)
+BEGIN
+    DECLARE own_transaction BOOLEAN DEFAULT @@autocommit = 1;
+    DECLARE EXIT HANDLER FOR SQLEXCEPTION
+    BEGIN
+        IF own_transaction THEN
+            ROLLBACK;
+        END IF;
+        RESIGNAL;
+    END;
+
+    IF own_transaction THEN
+        START TRANSACTION;
+    END IF;
+
+    IF p_id IS NULL OR p_id <= 0 THEN
+        INSERT INTO task (name, email, password, last_access, active)
+            VALUES (p_name, p_email, p_password, p_last_access, p_active);
+        SET p_id = LAST_INSERT_ID();
+        INSERT INTO tarefaespecial (id, especial) VALUES (p_id, p_especial);
+    ELSE
+        UPDATE task INNER JOIN tarefaespecial ON task.id = tarefaespecial.id
+            SET task.name = p_name, task.email = p_email, task.password = p_password,
+                task.last_access = p_last_access, task.active = p_active,
+                tarefaespecial.especial = p_especial
+            WHERE task.id = p_id;
+    END IF;
+
+    IF own_transaction THEN
+        COMMIT;
+    END IF;
+END ;;
+DELIMITER ;